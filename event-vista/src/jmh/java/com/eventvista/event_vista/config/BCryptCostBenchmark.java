@@ -0,0 +1,87 @@
+package com.eventvista.event_vista.config;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+
+// Measures one BCrypt verification per cost, to choose auth.password.bcrypt-strength
+// for the deployment host. Run on that host with:
+//   ./gradlew jmhJar
+//   java -cp build/libs/event-vista-0.0.1-SNAPSHOT-jmh.jar -Dtarget.ms=250 \
+//        com.eventvista.event_vista.config.BCryptCostBenchmark
+// which prints the measured latency per cost and the highest cost within the target
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 3)
+@Fork(1)
+public class BCryptCostBenchmark {
+    private static final String PASSWORD = "correct horse battery staple";
+
+    @Param({"10", "11", "12", "13", "14"})
+    public int strength;
+
+    private BCryptPasswordEncoder encoder;
+    private String hash;
+
+    @Setup
+    public void hashPassword() {
+        encoder = new BCryptPasswordEncoder(strength);
+        hash = encoder.encode(PASSWORD);
+    }
+
+    // Login cost: one verification against a stored hash of this strength
+    @Benchmark
+    public boolean verify() {
+        return encoder.matches(PASSWORD, hash);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        double targetMs = Double.parseDouble(System.getProperty("target.ms", "250"));
+        Options options = new OptionsBuilder()
+                .include(BCryptCostBenchmark.class.getSimpleName())
+                .build();
+        Collection<RunResult> results = new Runner(options).run();
+
+        int chosen = -1;
+        System.out.printf("%nBCrypt verification latency (target %.0f ms):%n", targetMs);
+        for (RunResult result : results.stream()
+                .sorted(Comparator.comparingInt(BCryptCostBenchmark::strengthOf))
+                .toList()) {
+            int cost = strengthOf(result);
+            double latencyMs = result.getPrimaryResult().getScore();
+            System.out.printf("  cost %2d: %8.1f ms%n", cost, latencyMs);
+            if (latencyMs <= targetMs) {
+                chosen = Math.max(chosen, cost);
+            }
+        }
+        if (chosen < 0) {
+            System.out.println("No cost meets the target; use the lowest acceptable cost (10)");
+        } else {
+            System.out.println("Suggested setting: auth.password.bcrypt-strength=" + chosen);
+        }
+    }
+
+    private static int strengthOf(RunResult result) {
+        return Integer.parseInt(result.getParams().getParam("strength"));
+    }
+}
@@ -0,0 +1,71 @@
+package com.eventvista.event_vista.security;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+// Per-request cost of deciding whether a path skips JWT handling: the compiled
+// PublicRoutes table against the equals/startsWith chain the filter used before
+// The path mix is mostly authenticated API calls, as in normal traffic
+// Run with: ./gradlew jmh -Pjmh.includes=PublicRoutesBenchmark
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PublicRoutesBenchmark {
+    private static final String[] PATHS = {
+            "/api/events/all",
+            "/api/events/upcoming",
+            "/api/venues/all",
+            "/api/clients/find/12",
+            "/api/auth/update-profile",
+            "/api/weather/stats",
+            "/api/auth/login",
+            "/api/auth/user",
+            "/oauth2/authorization/google",
+            "/api/public/health"
+    };
+
+    @Benchmark
+    @OperationsPerInvocation(10)
+    public void compiledTable(Blackhole blackhole) {
+        for (String path : PATHS) {
+            blackhole.consume(PublicRoutes.isPublic(path));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(10)
+    public void comparisonChain(Blackhole blackhole) {
+        for (String path : PATHS) {
+            blackhole.consume(isPublicEndpoint(path));
+        }
+    }
+
+    // The filter's previous implementation
+    private static boolean isPublicEndpoint(String requestUri) {
+        return requestUri.equals("/api/auth/refresh") ||
+                requestUri.equals("/api/auth/login") ||
+                requestUri.equals("/api/auth/register") ||
+                requestUri.equals("/api/auth/verify") ||
+                requestUri.equals("/api/auth/resend-verification") ||
+                requestUri.equals("/api/auth/reset-password") ||
+                requestUri.equals("/api/auth/user") ||
+                requestUri.equals("/api/auth/logout") ||
+                requestUri.startsWith("/oauth2/") ||
+                requestUri.startsWith("/login/oauth2/") ||
+                requestUri.startsWith("/api/public/");
+    }
+}
@@ -0,0 +1,93 @@
+package com.eventvista.event_vista.service;
+
+import com.eventvista.event_vista.stub.SmtpStubServer;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// Compares sending one outbox batch of verification emails with a connection per
+// message against EmailService.sendBatch, which reuses one SMTP transport
+// The SMTP stub delays each reply to stand in for the round trip to a real relay
+// Run with: ./gradlew jmh -Pjmh.includes=EmailSendBenchmark
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EmailSendBenchmark {
+    // Messages per outbox batch
+    @Param({"10", "50"})
+    public int messages;
+
+    @Param({"2"})
+    public long replyDelayMs;
+
+    private SmtpStubServer stub;
+    private EmailService emailService;
+
+    @Setup(Level.Trial)
+    public void startStub() throws IOException {
+        stub = new SmtpStubServer(0, replyDelayMs).start();
+
+        JavaMailSenderImpl mailSender = new JavaMailSenderImpl();
+        mailSender.setHost("127.0.0.1");
+        mailSender.setPort(stub.getPort());
+        mailSender.setDefaultEncoding("UTF-8");
+        mailSender.getJavaMailProperties().put("mail.smtp.auth", "false");
+
+        emailService = new EmailService();
+        ReflectionTestUtils.setField(emailService, "mailSender", mailSender);
+        ReflectionTestUtils.setField(emailService, "fromEmail", "noreply@eventvista.test");
+        ReflectionTestUtils.setField(emailService, "frontendBaseUrl", "http://localhost:5173");
+    }
+
+    @TearDown(Level.Trial)
+    public void stopStub() {
+        stub.close();
+    }
+
+    // Connect, EHLO, send and QUIT for every message
+    @Benchmark
+    public int connectionPerMessage() throws MessagingException {
+        int failed = 0;
+        for (MimeMessage message : render()) {
+            failed += emailService.sendBatch(List.of(message)).size();
+        }
+        return failed;
+    }
+
+    // One connection for the whole batch
+    @Benchmark
+    public Map<MimeMessage, Exception> sharedConnection() throws MessagingException {
+        return emailService.sendBatch(render());
+    }
+
+    private List<MimeMessage> render() throws MessagingException {
+        List<MimeMessage> batch = new ArrayList<>(messages);
+        for (int i = 0; i < messages; i++) {
+            batch.add(emailService.createVerificationMessage("user" + i + "@eventvista.test", "token-" + i));
+        }
+        return batch;
+    }
+}
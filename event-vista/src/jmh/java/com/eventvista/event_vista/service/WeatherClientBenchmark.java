@@ -0,0 +1,115 @@
+package com.eventvista.event_vista.service;
+
+import com.eventvista.event_vista.model.dto.WeatherForecast;
+import com.eventvista.event_vista.stub.OpenWeatherMapStubServer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+// Compares the blocking RestTemplate path with the async HttpClient path for one
+// dashboard's worth of forecast lookups against the OpenWeatherMap stub with fixed latency
+// The blocking path mirrors weather.enrichment.threads=8; the async path sends
+// every lookup at once over the client's pooled connections
+// Run with: ./gradlew jmh -Pjmh.includes=WeatherClientBenchmark
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class WeatherClientBenchmark {
+    private static final int ENRICHMENT_THREADS = 8;
+
+    // Distinct venue locations looked up per dashboard load
+    @Param({"8", "32"})
+    public int lookups;
+
+    @Param({"20"})
+    public long latencyMs;
+
+    private OpenWeatherMapStubServer stub;
+    private ExecutorService weatherExecutor;
+    private RestTemplate restTemplate;
+    private WeatherResponseParser responseParser;
+    private AsyncWeatherApiClient asyncClient;
+    private String baseUrl;
+
+    @Setup(Level.Trial)
+    public void startStub() throws IOException {
+        stub = new OpenWeatherMapStubServer(0, latencyMs, 0, 0, 0).start();
+        baseUrl = stub.getBaseUrl();
+
+        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+        requestFactory.setConnectTimeout(5000);
+        requestFactory.setReadTimeout(5000);
+        restTemplate = new RestTemplate(requestFactory);
+        responseParser = new WeatherResponseParser();
+        weatherExecutor = Executors.newFixedThreadPool(ENRICHMENT_THREADS);
+
+        HttpClient httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        asyncClient = new AsyncWeatherApiClient(httpClient, 5000);
+    }
+
+    @TearDown(Level.Trial)
+    public void stopStub() {
+        weatherExecutor.shutdownNow();
+        stub.close();
+    }
+
+    // RestTemplate calls on a fixed pool, one thread held per in-flight lookup
+    @Benchmark
+    public List<WeatherForecast> blockingClient() throws Exception {
+        List<Future<WeatherForecast>> calls = new ArrayList<>(lookups);
+        for (int i = 0; i < lookups; i++) {
+            String url = baseUrl + "/data/2.5/forecast?q=City" + i + "&appid=bench&units=imperial";
+            calls.add(weatherExecutor.submit(() -> restTemplate.execute(url, HttpMethod.GET,
+                    request -> request.getHeaders().setAccept(List.of(MediaType.APPLICATION_JSON)),
+                    response -> responseParser.parseForecast(response.getBody()))));
+        }
+        List<WeatherForecast> forecasts = new ArrayList<>(lookups);
+        for (Future<WeatherForecast> call : calls) {
+            forecasts.add(call.get());
+        }
+        return forecasts;
+    }
+
+    // All lookups in flight at once through the async client
+    @Benchmark
+    public List<WeatherForecast> asyncClient() {
+        List<CompletableFuture<WeatherForecast>> calls = new ArrayList<>(lookups);
+        for (int i = 0; i < lookups; i++) {
+            URI uri = URI.create(baseUrl + "/data/2.5/forecast?q=City" + i + "&appid=bench&units=imperial");
+            calls.add(asyncClient.fetch(uri, true));
+        }
+        return calls.stream().map(CompletableFuture::join).toList();
+    }
+}
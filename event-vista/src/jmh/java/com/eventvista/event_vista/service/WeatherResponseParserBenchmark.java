@@ -0,0 +1,82 @@
+package com.eventvista.event_vista.service;
+
+import com.eventvista.event_vista.model.dto.WeatherData;
+import com.eventvista.event_vista.model.dto.WeatherForecast;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// Compares the original String + JsonNode tree parsing of a /forecast response
+// with the streaming WeatherResponseParser, using a recorded 40-slot payload
+// Run with: ./gradlew jmh  (the gc profiler reports gc.alloc.rate.norm per parse)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class WeatherResponseParserBenchmark {
+    private byte[] forecastPayload;
+    private ObjectMapper objectMapper;
+    private WeatherResponseParser streamingParser;
+
+    @Setup
+    public void loadPayload() throws IOException {
+        try (InputStream in = WeatherResponseParserBenchmark.class.getResourceAsStream("/owm/forecast.json")) {
+            if (in == null) {
+                throw new IllegalStateException("Recorded forecast payload /owm/forecast.json not found");
+            }
+            forecastPayload = in.readAllBytes();
+        }
+        objectMapper = new ObjectMapper();
+        streamingParser = new WeatherResponseParser();
+    }
+
+    // The previous WeatherService code path: whole body as a String, a full tree,
+    // and a DateTimeFormatter plus LocalDateTime.parse for every list element
+    @Benchmark
+    public void treeParse(Blackhole blackhole) throws IOException {
+        String response = new String(forecastPayload, StandardCharsets.UTF_8);
+        JsonNode root = objectMapper.readTree(response);
+        Map<LocalDate, WeatherData> dailyWeather = new LinkedHashMap<>();
+        for (JsonNode forecast : root.path("list")) {
+            DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+            LocalDate date = LocalDateTime.parse(forecast.path("dt_txt").asText(), formatter).toLocalDate();
+            if (!dailyWeather.containsKey(date)) {
+                JsonNode weather = forecast.path("weather").get(0);
+                dailyWeather.put(date, new WeatherData(
+                        weather.path("icon").asText(),
+                        String.format("%.1f°F", forecast.path("main").path("temp").asDouble()),
+                        weather.path("description").asText()
+                ));
+            }
+        }
+        blackhole.consume(dailyWeather);
+    }
+
+    @Benchmark
+    public WeatherForecast streamingParse() throws IOException {
+        return streamingParser.parseForecast(new ByteArrayInputStream(forecastPayload));
+    }
+}
@@ -0,0 +1,98 @@
+package com.eventvista.event_vista.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.Serializable;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+// In-memory SharedCache for a single instance, and a stand-in for the shared tier
+// in tests: several TwoTierCache instances built on one InProcessSharedCache behave
+// like nodes sharing one cache server, and invalidations reach all of them
+// Invalidations are delivered synchronously on the publishing thread
+// Entries are held in a size-bounded Caffeine cache, each expiring after its own TTL
+@Component
+@ConditionalOnProperty(name = "app.cache.shared", havingValue = "in-process", matchIfMissing = true)
+public class InProcessSharedCache implements SharedCache {
+    private final Cache<String, Entry> entries;
+    private final List<InvalidationListener> listeners = new CopyOnWriteArrayList<>();
+
+    public InProcessSharedCache() {
+        this(100_000);
+    }
+
+    public InProcessSharedCache(int maxEntries) {
+        this.entries = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfter(new UntilEntryExpires())
+                .build();
+    }
+
+    @Override
+    public Serializable get(String region, String key) {
+        Entry entry = entries.getIfPresent(entryKey(region, key));
+        if (entry == null || !entry.expiresAt.isAfter(Instant.now())) {
+            return null;
+        }
+        return entry.value;
+    }
+
+    @Override
+    public void put(String region, String key, Serializable value, Duration ttl) {
+        entries.put(entryKey(region, key), new Entry(value, Instant.now().plus(ttl)));
+    }
+
+    @Override
+    public void evict(String region, String key) {
+        entries.invalidate(entryKey(region, key));
+    }
+
+    @Override
+    public void publishInvalidation(String region, String key) {
+        for (InvalidationListener listener : listeners) {
+            listener.onInvalidation(region, key);
+        }
+    }
+
+    @Override
+    public void subscribe(InvalidationListener listener) {
+        listeners.add(listener);
+    }
+
+    private static String entryKey(String region, String key) {
+        return region + ':' + key;
+    }
+
+    private static class UntilEntryExpires implements Expiry<String, Entry> {
+        @Override
+        public long expireAfterCreate(String key, Entry entry, long currentTime) {
+            return Math.max(0, Duration.between(Instant.now(), entry.expiresAt).toNanos());
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, Entry entry, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, entry, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, Entry entry, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+
+    private static class Entry {
+        private final Serializable value;
+        private final Instant expiresAt;
+
+        private Entry(Serializable value, Instant expiresAt) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
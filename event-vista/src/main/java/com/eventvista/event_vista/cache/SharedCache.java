@@ -0,0 +1,28 @@
+package com.eventvista.event_vista.cache;
+
+import java.io.Serializable;
+import java.time.Duration;
+
+// Cache tier shared by every application instance, plus the channel instances use to
+// tell each other to drop local copies of a key
+// A networked implementation (Redis, Hazelcast, ...) stores values in serialized form,
+// so only Serializable values are accepted
+// See InProcessSharedCache for the single-node and test implementation
+public interface SharedCache {
+
+    // Returns the value, or null if the key is absent or expired
+    Serializable get(String region, String key);
+
+    void put(String region, String key, Serializable value, Duration ttl);
+
+    void evict(String region, String key);
+
+    // Delivers the invalidation to every subscribed instance, this one included
+    void publishInvalidation(String region, String key);
+
+    void subscribe(InvalidationListener listener);
+
+    interface InvalidationListener {
+        void onInvalidation(String region, String key);
+    }
+}
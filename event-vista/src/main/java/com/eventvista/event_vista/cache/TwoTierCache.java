@@ -0,0 +1,105 @@
+package com.eventvista.event_vista.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.io.Serializable;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+// One cache region with a bounded local tier in front of the SharedCache
+// The local tier is a Caffeine cache with a size bound and a write TTL; when it is full
+// Caffeine evicts single entries, never the whole tier
+// Lookups try the local tier, then the shared tier, then the loader; a value found in
+// the shared tier was loaded by another instance and is copied locally
+// invalidate() removes the key from the shared tier and broadcasts an invalidation so
+// every instance drops its local copy; the local TTL bounds staleness if a message is lost
+// Loaders returning null are not cached
+public class TwoTierCache<V extends Serializable> {
+    private final String region;
+    private final SharedCache sharedCache;
+    private final Class<V> valueType;
+    private final Duration sharedTtl;
+
+    private final Cache<String, V> local;
+    private final List<Consumer<String>> invalidationCallbacks = new CopyOnWriteArrayList<>();
+
+    private final AtomicLong localHits = new AtomicLong();
+    private final AtomicLong sharedHits = new AtomicLong();
+    private final AtomicLong loads = new AtomicLong();
+    private final AtomicLong invalidations = new AtomicLong();
+
+    public TwoTierCache(String region, SharedCache sharedCache, Class<V> valueType,
+                        Duration localTtl, Duration sharedTtl, int maxLocalEntries) {
+        this.region = region;
+        this.sharedCache = sharedCache;
+        this.valueType = valueType;
+        this.sharedTtl = sharedTtl;
+        this.local = Caffeine.newBuilder()
+                .maximumSize(maxLocalEntries)
+                .expireAfterWrite(localTtl)
+                .build();
+        sharedCache.subscribe((invalidatedRegion, key) -> {
+            if (this.region.equals(invalidatedRegion)) {
+                local.invalidate(key);
+                invalidations.incrementAndGet();
+                invalidationCallbacks.forEach(callback -> callback.accept(key));
+            }
+        });
+    }
+
+    public V get(String key, Function<String, V> loader) {
+        V cached = local.getIfPresent(key);
+        if (cached != null) {
+            localHits.incrementAndGet();
+            return cached;
+        }
+
+        Serializable shared = sharedCache.get(region, key);
+        if (valueType.isInstance(shared)) {
+            sharedHits.incrementAndGet();
+            V value = valueType.cast(shared);
+            local.put(key, value);
+            return value;
+        }
+
+        loads.incrementAndGet();
+        V value = loader.apply(key);
+        if (value != null) {
+            sharedCache.put(region, key, value, sharedTtl);
+            local.put(key, value);
+        }
+        return value;
+    }
+
+    // Drops the key here, in the shared tier and, through the broadcast, on every other instance
+    public void invalidate(String key) {
+        if (key == null) {
+            return;
+        }
+        local.invalidate(key);
+        sharedCache.evict(region, key);
+        sharedCache.publishInvalidation(region, key);
+    }
+
+    // Runs the callback for every invalidation of this region, from any instance
+    public void onInvalidation(Consumer<String> callback) {
+        invalidationCallbacks.add(callback);
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("localSize", local.estimatedSize());
+        stats.put("localHits", localHits.get());
+        stats.put("sharedHits", sharedHits.get());
+        stats.put("loads", loads.get());
+        stats.put("invalidations", invalidations.get());
+        return stats;
+    }
+}
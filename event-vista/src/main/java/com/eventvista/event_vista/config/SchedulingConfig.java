@@ -0,0 +1,10 @@
+package com.eventvista.event_vista.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+// Enables the background jobs (weather prefetch and similar housekeeping tasks)
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -1,8 +1,13 @@
 package com.eventvista.event_vista.config;
 
 import com.eventvista.event_vista.security.JwtAuthenticationFilter;
+import com.eventvista.event_vista.security.JwtTokenProvider;
+import com.eventvista.event_vista.security.LoginThrottleFilter;
 import com.eventvista.event_vista.security.OAuth2SuccessHandler;
+import com.eventvista.event_vista.security.PublicRoutes;
+import com.eventvista.event_vista.security.RefreshTokenCookies;
 import com.eventvista.event_vista.service.CustomUserDetailsService;
+import jakarta.servlet.http.Cookie;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
@@ -14,6 +19,7 @@ import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
@@ -22,7 +28,9 @@ import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 @Configuration
 @EnableWebSecurity
@@ -34,9 +42,15 @@ public class SecurityConfig {
     @Autowired
     private JwtAuthenticationFilter jwtAuthenticationFilter;
 
+    @Autowired
+    private LoginThrottleFilter loginThrottleFilter;
+
     @Autowired
     private OAuth2SuccessHandler oAuth2SuccessHandler;
 
+    @Autowired
+    private JwtTokenProvider tokenProvider;
+
     @Value("${jwt.cookie.name}")
     private String jwtCookieName;
 
@@ -49,6 +63,9 @@ public class SecurityConfig {
     @Value("${jwt.cookie.same-site}")
     private String jwtCookieSameSite;
 
+    @Value("${auth.password.bcrypt-strength:10}")
+    private int bcryptStrength;
+
     @Bean
     public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
         http
@@ -70,19 +87,14 @@ public class SecurityConfig {
                         .sessionCreationPolicy(SessionCreationPolicy.STATELESS)
                 )
                 .authorizeHttpRequests(authorize -> authorize
+                        // Same registry JwtAuthenticationFilter uses to skip token handling
+                        .requestMatchers(PublicRoutes.patterns()).permitAll()
+                        // Operational stats are for administrators (app.admin.emails) only
                         .requestMatchers(
-                                "/api/auth/login",
-                                "/api/auth/register",
-                                "/api/auth/verify",
-                                "/api/auth/resend-verification",
-                                "/api/auth/reset-password",
-                                "/api/auth/user",
-                                "/api/auth/refresh",
-                                "/api/auth/logout",
-                                "/api/public/**",
-                                "/oauth2/**",
-                                "/login/oauth2/**"
-                        ).permitAll()
+                                "/api/weather/stats",
+                                "/api/auth/hashing-stats",
+                                "/api/auth/throttle-stats"
+                        ).hasRole("ADMIN")
                         .requestMatchers(
                                 "/api/venues/**",
                                 "/api/skills/**",
@@ -103,6 +115,26 @@ public class SecurityConfig {
                 )
                 .logout(logout -> logout
                         .logoutUrl("/api/auth/logout")
+                        // Revoke the access token and the refresh token (with its whole rotation
+                        // family) so neither can be replayed until it expires
+                        // The refresh cookie is scoped to /api/auth, so it is sent here too;
+                        // an old Path=/api/auth/refresh cookie is not sent here, but it is cleared
+                        .addLogoutHandler((request, response, authentication) -> {
+                            if (request.getCookies() != null) {
+                                Arrays.stream(request.getCookies())
+                                        .filter(cookie -> jwtCookieName.equals(cookie.getName())
+                                                && cookie.getValue() != null)
+                                        .forEach(cookie -> tokenProvider.revokeToken(cookie.getValue()));
+                            }
+                            RefreshTokenCookies.values(request, jwtCookieName).forEach(tokenProvider::revokeToken);
+                            Cookie refreshTokenCookie = new Cookie(RefreshTokenCookies.name(jwtCookieName), null);
+                            refreshTokenCookie.setHttpOnly(jwtCookieHttpOnly);
+                            refreshTokenCookie.setSecure(jwtCookieSecure);
+                            refreshTokenCookie.setPath(RefreshTokenCookies.PATH);
+                            refreshTokenCookie.setMaxAge(0);
+                            response.addCookie(refreshTokenCookie);
+                            response.addCookie(RefreshTokenCookies.expireLegacy(jwtCookieName, jwtCookieSecure, jwtCookieHttpOnly));
+                        })
                         .logoutSuccessHandler((request, response, authentication) -> {
                             response.setStatus(HttpServletResponse.SC_OK);
                         })
@@ -111,6 +143,8 @@ public class SecurityConfig {
                         .invalidateHttpSession(true)
                 )
                 .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class)
+                // Floods of login/register requests are turned away before any lookup or hashing
+                .addFilterBefore(loginThrottleFilter, JwtAuthenticationFilter.class)
                 // Add security headers
                 .headers(headers -> headers
                         .xssProtection(xss -> {})
@@ -170,9 +204,17 @@ public class SecurityConfig {
         return authenticationManagerBuilder.build();
     }
 
+    // Stored hashes are prefixed with their algorithm id, e.g. {bcrypt}$2a$12$...,
+    // and the BCrypt hash itself records its cost, so the target cost can be changed
+    // at any time; older hashes keep verifying and are upgraded on the next login
+    // Hashes stored before the prefix was introduced are matched as plain BCrypt
     @Bean
     public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+        Map<String, PasswordEncoder> encoders = new HashMap<>();
+        encoders.put("bcrypt", new BCryptPasswordEncoder(bcryptStrength));
+        DelegatingPasswordEncoder passwordEncoder = new DelegatingPasswordEncoder("bcrypt", encoders);
+        passwordEncoder.setDefaultPasswordEncoderForMatches(new BCryptPasswordEncoder(bcryptStrength));
+        return passwordEncoder;
     }
 }
 
@@ -0,0 +1,39 @@
+package com.eventvista.event_vista.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Configuration
+public class WeatherConfig {
+
+    // Bounded pool for outbound weather lookups, so a slow upstream can only ever
+    // occupy this many threads no matter how many dashboards are loading at once
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService weatherExecutor(@Value("${weather.enrichment.threads:8}") int threads) {
+        AtomicInteger threadCount = new AtomicInteger();
+        return Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "weather-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    // Shared client for the async weather client mode
+    // The JDK client pools keep-alive connections per host and negotiates HTTP/2
+    // where the server supports it
+    @Bean
+    public HttpClient weatherHttpClient(@Value("${weather.client.connect-timeout-ms:5000}") long connectTimeoutMs) {
+        return HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .connectTimeout(Duration.ofMillis(connectTimeoutMs))
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .build();
+    }
+}
@@ -21,9 +21,11 @@ public class CalendarController {
         this.authUtil = authUtil;
     }
 
+    // Calendar serializes its user, so these endpoints load the row rather than
+    // returning an uninitialized reference
     @GetMapping("/my")
     public ResponseEntity<?> getMyCalendar() {
-        User user = authUtil.getUserFromAuthentication();
+        User user = authUtil.getLoadedUserFromAuthentication();
         return calendarService.findCalendarByUser(user)
                 .map(ResponseEntity::ok)
                 .orElse(ResponseEntity.notFound().build());
@@ -31,7 +33,7 @@ public class CalendarController {
 
     @GetMapping("/find/{id}")
     public ResponseEntity<?> getCalendarById(@PathVariable Integer id) {
-        User user = authUtil.getUserFromAuthentication();
+        User user = authUtil.getLoadedUserFromAuthentication();
         return calendarService.findCalendarById(id, user)
                 .map(ResponseEntity::ok)
                 .orElse(ResponseEntity.notFound().build());
@@ -39,7 +41,7 @@ public class CalendarController {
 
     @PostMapping("/add")
     public ResponseEntity<?> addCalendar(@RequestBody Calendar calendar) {
-        User user = authUtil.getUserFromAuthentication();
+        User user = authUtil.getLoadedUserFromAuthentication();
         try {
             Calendar savedCalendar = calendarService.addCalendar(calendar, user);
             return ResponseEntity.ok(savedCalendar);
@@ -7,6 +7,7 @@ import com.eventvista.event_vista.model.User;
 import com.eventvista.event_vista.model.dto.UpcomingEventDTO;
 import com.eventvista.event_vista.service.EventService;
 import com.eventvista.event_vista.utilities.AuthUtil;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -23,21 +24,39 @@ public class EventController {
     private final EventService eventService;
     private final AuthUtil authUtil;
 
+    @Value("${app.events.page.default-size:50}")
+    private int defaultPageSize;
+
+    @Value("${app.events.page.max-size:200}")
+    private int maxPageSize;
+
     public EventController(EventService eventService, AuthUtil authUtil) {
         this.eventService = eventService;
         this.authUtil = authUtil;
     }
 
-    // Get all events for the current authenticated user
+    // Get all events for the current authenticated user, ordered by date, time and id
+    // With size and/or cursor, returns one page of event summaries instead:
+    // {"events": [...], "nextCursor": "..."}; pass nextCursor back as cursor for the next page
     // Returns ResponseEntity containing:
-    // List of events if found - 200 Ok - may be empty if no events exits
+    // List of events (or a page) if found - 200 Ok - may be empty if no events exits
+    // 400 Bad Request if the cursor is invalid
     // Specific error 500 message if something goes wrong
     @GetMapping("/all")
-    public ResponseEntity<?> getAllEvents() {
+    public ResponseEntity<?> getAllEvents(@RequestParam(value = "size", required = false) Integer size,
+                                          @RequestParam(value = "cursor", required = false) String cursor) {
         try {
             User user = authUtil.getUserFromAuthentication();
+            if (size != null || cursor != null) {
+                int pageSize = Math.min(Math.max(size != null ? size : defaultPageSize, 1), maxPageSize);
+                return ResponseEntity.ok(eventService.findEventPage(user, cursor, pageSize));
+            }
             List<Event> events = eventService.findAllEvents(user);
             return ResponseEntity.ok(events);
+        } catch (InvalidEventDataException e) {
+            Map<String, String> response = new HashMap<>();
+            response.put("message", e.getMessage());
+            return ResponseEntity.badRequest().body(response);
         } catch (Exception e) {
             Map<String, String> response = new HashMap<>();
             response.put("message", "Error retrieving events: " + e.getMessage());
@@ -7,7 +7,13 @@ import com.eventvista.event_vista.model.dto.LoginFormDTO;
 import com.eventvista.event_vista.model.dto.RegisterFormDTO;
 import com.eventvista.event_vista.model.dto.ResetPasswordDTO;
 import com.eventvista.event_vista.model.dto.UserProfileDTO;
+import com.eventvista.event_vista.exception.PasswordHashingOverloadedException;
+import com.eventvista.event_vista.security.CustomUserPrincipal;
+import com.eventvista.event_vista.security.JwtClaims;
 import com.eventvista.event_vista.security.JwtTokenProvider;
+import com.eventvista.event_vista.security.LoginThrottleFilter;
+import com.eventvista.event_vista.security.RefreshTokenCookies;
+import com.eventvista.event_vista.security.TokenPair;
 import com.eventvista.event_vista.service.EmailService;
 import jakarta.mail.MessagingException;
 import jakarta.servlet.http.Cookie;
@@ -18,33 +24,31 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.bind.annotation.*;
+import com.eventvista.event_vista.service.PasswordHashingService;
+import com.eventvista.event_vista.service.UserPrincipalCache;
 import com.eventvista.event_vista.service.UserService;
+import com.eventvista.event_vista.service.VerificationTokenService;
 
-import java.time.LocalDateTime;
+import java.time.Duration;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.UUID;
 
 @RestController
 @RequestMapping("/api/auth")
 public class JwtAuthenticationController {
 
-    @Autowired
-    private AuthenticationManager authenticationManager;
-
     @Autowired
     private UserRepository userRepository;
 
+    // BCrypt hashing and verification run on a bounded pool
     @Autowired
-    private PasswordEncoder passwordEncoder;
+    private PasswordHashingService passwordHashingService;
 
     @Autowired
     private JwtTokenProvider tokenProvider;
@@ -55,6 +59,15 @@ public class JwtAuthenticationController {
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private UserPrincipalCache principalCache;
+
+    @Autowired
+    private VerificationTokenService verificationTokenService;
+
+    @Autowired
+    private LoginThrottleFilter loginThrottleFilter;
+
     @Value("${app.email.verification.token.expiration}")
     private long verificationTokenExpiration;
 
@@ -88,36 +101,29 @@ public class JwtAuthenticationController {
         User user = new User();
         user.setName(registerFormDTO.getUsername());
         user.setEmailAddress(registerFormDTO.getEmailAddress());
-        String encodedPassword = passwordEncoder.encode(registerFormDTO.getPassword());
+        String encodedPassword;
+        try {
+            encodedPassword = passwordHashingService.encode(registerFormDTO.getPassword());
+        } catch (PasswordHashingOverloadedException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(Map.of("message", e.getMessage()));
+        }
         user.setPasswordHash(encodedPassword);
 
         user.setProvider(AuthProvider.LOCAL);
 
-        // Set verification token
-        String verificationToken = UUID.randomUUID().toString();
-        user.setVerificationToken(verificationToken);
-        user.setVerificationTokenExpiryDate(LocalDateTime.now().plusHours(24));
         user.setEmailVerified(false);
 
         System.out.println("Creating new user with email: " + user.getEmailAddress());
-        System.out.println("Verification token: " + verificationToken);
 
-        userRepository.save(user);
+        // Save the user, issue a verification token and queue the email together; it is sent in the background
+        userService.saveWithVerificationEmail(user, Duration.ofMillis(verificationTokenExpiration));
         System.out.println("User saved successfully with ID: " + user.getId());
 
-        // Send verification email
-        try {
-            emailService.sendVerificationEmail(user.getEmailAddress(), verificationToken);
-            System.out.println("Verification email sent successfully");
-        } catch (MessagingException e) {
-            System.err.println("Failed to send verification email: " + e.getMessage());
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-                    .body(Map.of("message", "Failed to send verification email. Please try again."));
-        }
-
         return ResponseEntity.ok(Map.of("message", "Registration successful! Please check your email to verify your account."));
     }
 
+    // The user is loaded once and the password is verified once, on the hashing pool
+    // Returns 503 Service Unavailable if the hashing pool is saturated
     @PostMapping("/login")
     public ResponseEntity<?> processLoginForm(@RequestBody @Valid LoginFormDTO loginFormDTO, HttpServletResponse response) {
         System.out.println("=== LOGIN ATTEMPT START ===");
@@ -137,17 +143,15 @@ public class JwtAuthenticationController {
                         .body(Map.of("message", "Please verify your email before logging in"));
             }
 
-            if (!user.isMatchingPassword(loginFormDTO.getPassword())) {
+            if (!passwordHashingService.matches(loginFormDTO.getPassword(), user.getPasswordHash())) {
                 return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
                         .body(Map.of("message", "Invalid credentials"));
             }
+            passwordHashingService.rehashIfNeeded(user.getId(), loginFormDTO.getPassword(), user.getPasswordHash());
 
-            Authentication authentication = authenticationManager.authenticate(
-                    new UsernamePasswordAuthenticationToken(
-                            loginFormDTO.getEmailAddress(),
-                            loginFormDTO.getPassword()
-                    )
-            );
+            CustomUserPrincipal principal = new CustomUserPrincipal(user.getId(), user.getEmailAddress(), user.getName());
+            Authentication authentication =
+                    new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities());
 
             SecurityContextHolder.getContext().setAuthentication(authentication);
 
@@ -167,15 +171,19 @@ public class JwtAuthenticationController {
             Cookie refreshTokenCookie = new Cookie(jwtCookieName + "_refresh", refreshToken);
             refreshTokenCookie.setHttpOnly(jwtCookieHttpOnly);
             refreshTokenCookie.setSecure(jwtCookieSecure);
-            refreshTokenCookie.setPath("/api/auth/refresh");
+            refreshTokenCookie.setPath(RefreshTokenCookies.PATH);
             refreshTokenCookie.setMaxAge(604800); // 7 days in seconds
             response.addCookie(refreshTokenCookie);
+            response.addCookie(RefreshTokenCookies.expireLegacy(jwtCookieName, jwtCookieSecure, jwtCookieHttpOnly));
 
             Map<String, Object> responseBody = new HashMap<>();
             responseBody.put("user", user);
             responseBody.put("message", "Login successful");
 
             return ResponseEntity.ok(responseBody);
+        } catch (PasswordHashingOverloadedException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .body(Map.of("message", e.getMessage()));
         } catch (Exception e) {
             System.err.println("=== LOGIN ATTEMPT FAILED ===");
             System.err.println("Authentication failed: " + e.getMessage());
@@ -184,26 +192,41 @@ public class JwtAuthenticationController {
         }
     }
 
+    // Rotates the refresh token: the one in the cookie is used up and replaced along
+    // with the access token, so a copied refresh token works at most once
     @PostMapping("/refresh")
-    public ResponseEntity<?> refreshToken(HttpServletResponse response) {
+    public ResponseEntity<?> refreshToken(HttpServletRequest request, HttpServletResponse response) {
         try {
-            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-            if (authentication == null) {
+            // A leftover Path=/api/auth/refresh cookie is sent first; the first cookie that rotates wins
+            Optional<TokenPair> tokens = Optional.empty();
+            for (String refreshToken : RefreshTokenCookies.values(request, jwtCookieName)) {
+                tokens = tokenProvider.rotateRefreshToken(refreshToken);
+                if (tokens.isPresent()) {
+                    break;
+                }
+            }
+            if (tokens.isEmpty()) {
                 return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
-                        .body(Map.of("message", "No authentication found"));
+                        .body(Map.of("message", "Invalid or expired refresh token"));
             }
 
-            // Generate new access token
-            String newAccessToken = tokenProvider.generateAccessToken(authentication);
-
             // Create new access token cookie
-            Cookie accessTokenCookie = new Cookie(jwtCookieName, newAccessToken);
+            Cookie accessTokenCookie = new Cookie(jwtCookieName, tokens.get().getAccessToken());
             accessTokenCookie.setHttpOnly(jwtCookieHttpOnly);
             accessTokenCookie.setSecure(jwtCookieSecure);
             accessTokenCookie.setPath("/");
             accessTokenCookie.setMaxAge(900); // 15 minutes in seconds
             response.addCookie(accessTokenCookie);
 
+            // Replace the refresh token cookie with the rotated token
+            Cookie refreshTokenCookie = new Cookie(jwtCookieName + "_refresh", tokens.get().getRefreshToken());
+            refreshTokenCookie.setHttpOnly(jwtCookieHttpOnly);
+            refreshTokenCookie.setSecure(jwtCookieSecure);
+            refreshTokenCookie.setPath(RefreshTokenCookies.PATH);
+            refreshTokenCookie.setMaxAge(604800); // 7 days in seconds
+            response.addCookie(refreshTokenCookie);
+            response.addCookie(RefreshTokenCookies.expireLegacy(jwtCookieName, jwtCookieSecure, jwtCookieHttpOnly));
+
             return ResponseEntity.ok(Map.of("message", "Token refreshed successfully"));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
@@ -225,9 +248,10 @@ public class JwtAuthenticationController {
         Cookie refreshTokenCookie = new Cookie(jwtCookieName + "_refresh", null);
         refreshTokenCookie.setHttpOnly(jwtCookieHttpOnly);
         refreshTokenCookie.setSecure(jwtCookieSecure);
-        refreshTokenCookie.setPath("/api/auth/refresh");
+        refreshTokenCookie.setPath(RefreshTokenCookies.PATH);
         refreshTokenCookie.setMaxAge(0);
         response.addCookie(refreshTokenCookie);
+        response.addCookie(RefreshTokenCookies.expireLegacy(jwtCookieName, jwtCookieSecure, jwtCookieHttpOnly));
 
         return ResponseEntity.ok(Map.of("message", "Logged out successfully"));
     }
@@ -237,45 +261,20 @@ public class JwtAuthenticationController {
     public ResponseEntity<?> verifyEmail(@RequestParam String token) {
         System.out.println("Received verification request with token: " + token);
 
-        Optional<User> userOptional = userRepository.findByVerificationToken(token);
-
-        if (userOptional.isEmpty()) {
-            System.out.println("No user found with token: " + token);
-            // Check if any user was recently verified with this token
-            List<User> recentlyVerifiedUsers = userRepository.findByEmailVerifiedTrue();
-            for (User user : recentlyVerifiedUsers) {
-                // If we find a verified user and their token was recently nullified,
-                // this is likely a duplicate request
-                if (user.getVerificationToken() == null) {
-                    System.out.println("Found already verified user: " + user.getEmailAddress());
-                    return ResponseEntity.ok(Map.of("message", "Email already verified! You can now log in."));
-                }
-            }
-            return ResponseEntity.badRequest().body(Map.of("message", "Invalid verification token"));
-        }
-
-        // If user is found, check if token is expired
-        User user = userOptional.get();
-        System.out.println("Found user: " + user.getEmailAddress() + " with verification token: " + user.getVerificationToken());
-
-        // Check if token is expired
-        if (user.getVerificationTokenExpiryDate().isBefore(LocalDateTime.now())) {
-            System.out.println("Token expired. Expiry date: " + user.getVerificationTokenExpiryDate() + ", Current time: " + LocalDateTime.now());
-            return ResponseEntity.badRequest().body(Map.of("message", "Verification token has expired"));
-        }
-
-        // If email is already verified, return success
-        if (user.isEmailVerified()) {
-            return ResponseEntity.ok(Map.of("message", "Email already verified! You can now log in."));
+        // One primary-key lookup; used tokens are kept until purged so repeat clicks are recognised
+        switch (verificationTokenService.verify(token)) {
+            case VERIFIED:
+                System.out.println("Successfully verified email for token: " + token);
+                break;
+            case ALREADY_VERIFIED:
+                return ResponseEntity.ok(Map.of("message", "Email already verified! You can now log in."));
+            case EXPIRED:
+                return ResponseEntity.badRequest().body(Map.of("message", "Verification token has expired"));
+            default:
+                System.out.println("No user found with token: " + token);
+                return ResponseEntity.badRequest().body(Map.of("message", "Invalid verification token"));
         }
 
-        // Mark email as verified
-        user.setEmailVerified(true);
-        user.setVerificationToken(null);
-        user.setVerificationTokenExpiryDate(null);
-        userRepository.save(user);
-        System.out.println("Successfully verified email for user: " + user.getEmailAddress());
-
         return ResponseEntity.ok(Map.of("message", "Email verified successfully! You can now log in."));
     }
 
@@ -296,19 +295,8 @@ public class JwtAuthenticationController {
             return ResponseEntity.badRequest().body("Email is already verified");
         }
 
-        // Generate new verification token
-        String verificationToken = UUID.randomUUID().toString();
-        user.setVerificationToken(verificationToken);
-        user.setVerificationTokenExpiryDate(LocalDateTime.now().plusHours(1));
-        userRepository.save(user);
-
-        // Send new verification email
-        try {
-            emailService.sendVerificationEmail(user.getEmailAddress(), verificationToken);
-        } catch (MessagingException e) {
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-                    .body("Failed to send verification email. Please try again.");
-        }
+        // Replace the unused token with a new one and queue the verification email together
+        userService.saveWithVerificationEmail(user, Duration.ofHours(1));
 
         return ResponseEntity.ok("Verification email sent! Please check your inbox.");
     }
@@ -322,8 +310,9 @@ public class JwtAuthenticationController {
                 for (Cookie cookie : cookies) {
                     if (jwtCookieName.equals(cookie.getName())) {
                         String token = cookie.getValue();
-                        if (tokenProvider.validateToken(token)) {
-                            String emailAddress = tokenProvider.getUsernameFromToken(token);
+                        Optional<JwtClaims> claims = tokenProvider.tryParseAndVerify(token);
+                        if (claims.isPresent()) {
+                            String emailAddress = claims.get().getSubject();
                             Optional<User> userOptional = userRepository.findByEmailAddress(emailAddress);
                             if (userOptional.isPresent()) {
                                 User user = userOptional.get();
@@ -365,10 +354,13 @@ public class JwtAuthenticationController {
         }
 
         try {
-            user.setPasswordHash(passwordEncoder.encode(resetPasswordDTO.getNewPassword()));
+            user.setPasswordHash(passwordHashingService.encode(resetPasswordDTO.getNewPassword()));
             userRepository.save(user);
+            principalCache.evict(user.getEmailAddress());
             System.out.println("Password reset successful for user: " + user.getEmailAddress());
             return ResponseEntity.ok("Password successfully reset");
+        } catch (PasswordHashingOverloadedException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(e.getMessage());
         } catch (Exception e) {
             System.err.println("Error resetting password: " + e.getMessage());
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -376,6 +368,18 @@ public class JwtAuthenticationController {
         }
     }
 
+    // Password hashing pool metrics: active hashes, queue depth and rejections
+    @GetMapping("/hashing-stats")
+    public ResponseEntity<?> getHashingStats() {
+        return ResponseEntity.ok(passwordHashingService.getStats());
+    }
+
+    // Login throttle limits and how many requests each counter has turned away
+    @GetMapping("/throttle-stats")
+    public ResponseEntity<?> getThrottleStats() {
+        return ResponseEntity.ok(loginThrottleFilter.getStats());
+    }
+
     @GetMapping("/test-email")
     public ResponseEntity<?> testEmail(@RequestParam String toEmail) {
         try {
@@ -398,8 +402,9 @@ public class JwtAuthenticationController {
                 for (Cookie cookie : cookies) {
                     if (jwtCookieName.equals(cookie.getName())) {
                         String token = cookie.getValue();
-                        if (tokenProvider.validateToken(token)) {
-                            String email = tokenProvider.getUsernameFromToken(token);
+                        Optional<JwtClaims> claims = tokenProvider.tryParseAndVerify(token);
+                        if (claims.isPresent()) {
+                            String email = claims.get().getSubject();
                             try {
                                 //Updates user profile info using UserService
                                 User updatedUser = userService.updateUserProfile(email, profileDTO);
@@ -431,12 +436,13 @@ public class JwtAuthenticationController {
                 for (Cookie cookie : cookies) {
                     if (jwtCookieName.equals(cookie.getName())) {
                         String token = cookie.getValue();
-                        if (tokenProvider.validateToken(token)) {
-                            String email = tokenProvider.getUsernameFromToken(token);
+                        Optional<JwtClaims> claims = tokenProvider.tryParseAndVerify(token);
+                        if (claims.isPresent()) {
+                            String email = claims.get().getSubject();
                             Optional<User> userOpt = userRepository.findByEmailAddress(email);
                             if (userOpt.isPresent()) {
                                 User user = userOpt.get();
-                                userRepository.delete(user);
+                                userService.deleteUser(user);
                                 return ResponseEntity.ok("User deleted successfully");
                             }
                         }
@@ -1,5 +1,7 @@
 package com.eventvista.event_vista.controller;
 
+import com.eventvista.event_vista.exception.WeatherCircuitOpenException;
+import com.eventvista.event_vista.exception.WeatherRateLimitException;
 import com.eventvista.event_vista.exception.WeatherServiceException;
 import com.eventvista.event_vista.model.dto.WeatherData;
 import com.eventvista.event_vista.service.WeatherService;
@@ -40,6 +42,8 @@ public class WeatherController {
     // WeatherData object if successful - 200 OK
     // Error message 400 Bad Request if input is invalid:
     // Empty or null location, empty or null date, location name too long, invalid date, past dates, dates more than 5 days in advance
+    // 429 Too Many Requests if the weather API call budget is spent and nothing is cached
+    // 503 Service Unavailable if the weather API circuit is open and nothing is cached
     // Specific error 500 message if something else goes wrong:
     @GetMapping
     public ResponseEntity<?> getWeather(@RequestParam String location, @RequestParam String date) {
@@ -61,6 +65,11 @@ public class WeatherController {
                 message = "Error retrieving weather data: " + e.getMessage();
             }
             return ResponseEntity.status(e.getStatusCode()).body(createResponse(message));
+        } catch (WeatherCircuitOpenException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(createResponse(e.getMessage()));
+        } catch (WeatherRateLimitException e) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .body(createResponse("Too many requests to the weather service. Please try again later."));
         } catch (WeatherServiceException e) {
             if (e.getMessage().contains("cannot be empty") ||
                     e.getMessage().contains("cannot be null") ||
@@ -78,6 +87,15 @@ public class WeatherController {
         }
     }
 
+    // Returns weather service statistics - 200 OK
+    // Forecast cache size, hits, misses and evictions, upstream vs coalesced calls,
+    // how much of the per-minute and per-day API call budget is used,
+    // and the circuit breaker state, transitions and rejected calls
+    @GetMapping("/stats")
+    public ResponseEntity<Map<String, Object>> getWeatherStats() {
+        return ResponseEntity.ok(weatherService.getStats());
+    }
+
     // Validates the input parameters for the weather request
     // Location length must be less than 100 characters to match Venue entity constraints
     private void validateParams(String location, String date) {
@@ -3,6 +3,8 @@ package com.eventvista.event_vista.data;
 import com.eventvista.event_vista.model.Calendar;
 import com.eventvista.event_vista.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
@@ -16,6 +18,10 @@ public interface CalendarRepository extends JpaRepository<Calendar, Integer> {
     //To find a specific calendar by id
     Optional<Calendar> findByIdAndUser(Integer id, User user);
 
+    //Only the id of the user's calendar, without loading the calendar
+    @Query("SELECT c.id FROM Calendar c WHERE c.user.id = :userId")
+    Optional<Integer> findIdByUserId(@Param("userId") Integer userId);
+
 
 }
 
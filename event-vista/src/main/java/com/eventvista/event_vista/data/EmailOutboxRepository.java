@@ -0,0 +1,42 @@
+package com.eventvista.event_vista.data;
+
+import com.eventvista.event_vista.model.EmailOutbox;
+import com.eventvista.event_vista.model.EmailOutboxStatus;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface EmailOutboxRepository extends JpaRepository<EmailOutbox, Integer> {
+
+    // Next batch of messages that are due, oldest first
+    List<EmailOutbox> findByStatusInAndNextAttemptAtLessThanEqualOrderByNextAttemptAtAsc(
+            Collection<EmailOutboxStatus> statuses, Instant now, Limit limit);
+
+    // Marks the given messages SENDING under the claim token until leaseUntil, skipping
+    // any that another run claimed since they were read; returns how many were claimed
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Transactional
+    @Query("UPDATE EmailOutbox m SET m.status = com.eventvista.event_vista.model.EmailOutboxStatus.SENDING, "
+            + "m.claimToken = :claimToken, m.nextAttemptAt = :leaseUntil "
+            + "WHERE m.id IN :ids AND m.status IN :statuses AND m.nextAttemptAt <= :now")
+    int claim(@Param("ids") Collection<Integer> ids, @Param("statuses") Collection<EmailOutboxStatus> statuses,
+              @Param("now") Instant now, @Param("claimToken") String claimToken,
+              @Param("leaseUntil") Instant leaseUntil);
+
+    List<EmailOutbox> findByClaimTokenAndStatus(String claimToken, EmailOutboxStatus status);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM EmailOutbox m WHERE m.status IN :statuses AND m.createdAt < :cutoff")
+    int deleteByStatusInAndCreatedAtBefore(@Param("statuses") Collection<EmailOutboxStatus> statuses,
+                                          @Param("cutoff") Instant cutoff);
+}
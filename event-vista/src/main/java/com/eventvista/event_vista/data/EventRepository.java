@@ -2,6 +2,8 @@ package com.eventvista.event_vista.data;
 
 import com.eventvista.event_vista.model.Event;
 import com.eventvista.event_vista.model.User;
+import com.eventvista.event_vista.model.dto.EventSummaryDTO;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -15,7 +17,30 @@ import java.util.Optional;
 @Repository
 public interface EventRepository extends JpaRepository<Event, Integer> {
 
-    List<Event> findAllByUser(User user);
+    List<Event> findAllByUserOrderByDateAscTimeAscIdAsc(User user);
+
+    // Keyset pagination over (date, time, id) for the event listing
+    // Summary rows are projected straight from the event, venue and client columns,
+    // sorted and limited in the database
+    @Query("SELECT new com.eventvista.event_vista.model.dto.EventSummaryDTO(" +
+            "e.id, e.name, e.date, e.time, v.id, v.name, c.id, c.name) " +
+            "FROM Event e LEFT JOIN e.venue v LEFT JOIN e.client c " +
+            "WHERE e.user = :user " +
+            "ORDER BY e.date, e.time, e.id")
+    List<EventSummaryDTO> findSummaryPage(@Param("user") User user, Limit limit);
+
+    // Next page: rows strictly after the (date, time, id) of the previous page's last row
+    @Query("SELECT new com.eventvista.event_vista.model.dto.EventSummaryDTO(" +
+            "e.id, e.name, e.date, e.time, v.id, v.name, c.id, c.name) " +
+            "FROM Event e LEFT JOIN e.venue v LEFT JOIN e.client c " +
+            "WHERE e.user = :user AND (e.date > :date " +
+            "OR (e.date = :date AND (e.time > :time OR (e.time = :time AND e.id > :id)))) " +
+            "ORDER BY e.date, e.time, e.id")
+    List<EventSummaryDTO> findSummaryPageAfter(@Param("user") User user,
+                                               @Param("date") LocalDate date,
+                                               @Param("time") LocalTime time,
+                                               @Param("id") Integer id,
+                                               Limit limit);
 
     Optional<Event> findByIdAndUser(Integer id, User user);
 
@@ -24,6 +49,10 @@ public interface EventRepository extends JpaRepository<Event, Integer> {
     //To find past, upcoming, and dates within a specific range
     List<Event> findByDateBetweenAndUser(LocalDate startDate, LocalDate endDate, User user);
 
+    // First events in a date range in (date, time) order, read off idx_event_user_date_time
+    List<Event> findByDateBetweenAndUserOrderByDateAscTimeAscIdAsc(LocalDate startDate, LocalDate endDate,
+                                                                   User user, Limit limit);
+
     List<Event> findByVenueIdAndUser(Integer venueId, User user);
 
     List<Event> findByClientIdAndUser(Integer clientId, User user);
@@ -34,10 +63,19 @@ public interface EventRepository extends JpaRepository<Event, Integer> {
     // Checks if the event is upcoming:
     // if event is on a future date or
     // if event is today but at a future time
-    @Query("SELECT e FROM Event e WHERE e.user = :user AND (e.date > :currentDate OR (e.date = :currentDate AND e.time > :currentTime))")
+    // Returns the first events in (date, time) order, up to the limit
+    @Query("SELECT e FROM Event e WHERE e.user = :user AND (e.date > :currentDate OR (e.date = :currentDate AND e.time > :currentTime)) " +
+            "ORDER BY e.date, e.time, e.id")
     List<Event> findUpcomingEvents(@Param("user") User user,
                                    @Param("currentDate") LocalDate currentDate,
-                                   @Param("currentTime") LocalTime currentTime);
+                                   @Param("currentTime") LocalTime currentTime,
+                                   Limit limit);
+
+    // Distinct venue locations with at least one event in the date range, across all users
+    // Used by the weather prefetch job to warm the forecast cache
+    @Query("SELECT DISTINCT v.location FROM Event e JOIN e.venue v WHERE e.date BETWEEN :startDate AND :endDate")
+    List<String> findDistinctVenueLocationsByDateBetween(@Param("startDate") LocalDate startDate,
+                                                         @Param("endDate") LocalDate endDate);
 
 //    List<Event> findByUserAndDateGreaterThanEqualOrderByDateAsc(User user, LocalDate date);
 //
@@ -0,0 +1,37 @@
+package com.eventvista.event_vista.data;
+
+import com.eventvista.event_vista.model.RevokedToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+
+@Repository
+public interface RevokedTokenRepository extends JpaRepository<RevokedToken, String> {
+
+    boolean existsByTokenIdAndExpiresAtAfter(String tokenId, Instant now);
+
+    // A plain INSERT rather than save(), which would merge into an existing row:
+    // a second insert of the same id fails on the primary key on every instance
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT INTO revoked_token (token_id, expires_at, revoked_at) VALUES (:tokenId, :expiresAt, :revokedAt)",
+            nativeQuery = true)
+    int insert(@Param("tokenId") String tokenId,
+               @Param("expiresAt") Instant expiresAt,
+               @Param("revokedAt") Instant revokedAt);
+
+    // Only the ids are needed to rebuild the in-memory filter
+    @Query("SELECT t.tokenId FROM RevokedToken t WHERE t.expiresAt > :now")
+    List<String> findActiveTokenIds(@Param("now") Instant now);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM RevokedToken t WHERE t.expiresAt <= :now")
+    int deleteExpired(@Param("now") Instant now);
+}
@@ -2,9 +2,12 @@ package com.eventvista.event_vista.data;
 
 import com.eventvista.event_vista.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.stereotype.Repository;
 
-import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -13,9 +16,16 @@ public interface UserRepository extends JpaRepository<User, Integer> {
 //    User findByEmailAddress(String emailAddress);
     //changed to authenticate by email address and password. can add username later
     Optional<User> findByEmailAddress(String emailAddress);
-    Optional<User> findByVerificationToken(String token);
     boolean existsByEmailAddress(String emailAddress);
-    List<User> findByEmailVerifiedTrue();
+
+    // Compare-and-set update used when a password hash is upgraded in the background
+    // Nothing is written if the hash changed in the meantime (e.g. a password reset)
+    @Modifying
+    @Transactional
+    @Query("UPDATE User u SET u.passwordHash = :newHash WHERE u.id = :id AND u.passwordHash = :oldHash")
+    int updatePasswordHashIfUnchanged(@Param("id") Integer id,
+                                      @Param("oldHash") String oldHash,
+                                      @Param("newHash") String newHash);
 
 }
 
@@ -0,0 +1,28 @@
+package com.eventvista.event_vista.data;
+
+import com.eventvista.event_vista.model.VerificationToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+@Repository
+public interface VerificationTokenRepository extends JpaRepository<VerificationToken, String> {
+
+    // Primary-key lookup that loads the owning user in the same query
+    @Query("SELECT t FROM VerificationToken t JOIN FETCH t.user WHERE t.token = :token")
+    Optional<VerificationToken> findWithUser(@Param("token") String token);
+
+    // Drops tokens the user has not used yet; called when a new one is issued
+    @Modifying
+    @Query("DELETE FROM VerificationToken t WHERE t.user.id = :userId AND t.consumedAt IS NULL")
+    int deleteUnconsumedByUserId(@Param("userId") Integer userId);
+
+    @Modifying
+    @Query("DELETE FROM VerificationToken t WHERE t.expiresAt < :cutoff")
+    int deleteExpiredBefore(@Param("cutoff") LocalDateTime cutoff);
+}
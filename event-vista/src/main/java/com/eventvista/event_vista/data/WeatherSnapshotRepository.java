@@ -0,0 +1,20 @@
+package com.eventvista.event_vista.data;
+
+import com.eventvista.event_vista.model.WeatherSnapshot;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface WeatherSnapshotRepository extends JpaRepository<WeatherSnapshot, Integer> {
+
+    Optional<WeatherSnapshot> findByCacheKey(String cacheKey);
+
+    // Snapshots still recent enough to be loaded back into the cache
+    List<WeatherSnapshot> findAllByFetchedAtAfter(Instant cutoff);
+
+    long deleteByFetchedAtBefore(Instant cutoff);
+}
@@ -0,0 +1,9 @@
+package com.eventvista.event_vista.exception;
+
+// Thrown when the password hashing pool is saturated and a login, registration or
+// password reset is rejected instead of queueing behind other BCrypt work
+public class PasswordHashingOverloadedException extends RuntimeException {
+    public PasswordHashingOverloadedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,8 @@
+package com.eventvista.event_vista.exception;
+
+// Thrown when the weather API circuit breaker is open and no cached result can be served
+public class WeatherCircuitOpenException extends WeatherServiceException {
+    public WeatherCircuitOpenException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,8 @@
+package com.eventvista.event_vista.exception;
+
+// Thrown when the outbound weather API budget is spent and no cached result can be served
+public class WeatherRateLimitException extends WeatherServiceException {
+    public WeatherRateLimitException(String message) {
+        super(message);
+    }
+}
@@ -12,6 +12,11 @@ import java.util.List;
 
 
 @Entity
+@Table(indexes = {
+        @Index(name = "idx_client_user_name", columnList = "user_id, name"),
+        @Index(name = "idx_client_user_email", columnList = "user_id, emailAddress"),
+        @Index(name = "idx_client_user_phone", columnList = "user_id, phoneNumber")
+})
 public class Client extends AbstractEntity {
 
     @NotBlank(message = "Client name is required")
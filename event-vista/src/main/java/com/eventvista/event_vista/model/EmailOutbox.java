@@ -0,0 +1,129 @@
+package com.eventvista.event_vista.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+
+import java.time.Instant;
+
+// An email waiting to be sent, written in the same transaction as the change that
+// triggered it (e.g. a new user) and delivered later by EmailOutboxDispatcher
+// Only the template type and its parameter are stored; the message is rendered at send time
+@Entity
+public class EmailOutbox extends AbstractEntity {
+
+    public static final String VERIFICATION_EMAIL = "VERIFICATION";
+
+    @Column(nullable = false, length = 40)
+    private String type;
+
+    @Column(nullable = false)
+    private String recipient;
+
+    // Template parameter, e.g. the verification token
+    private String payload;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private EmailOutboxStatus status = EmailOutboxStatus.PENDING;
+
+    private int attempts;
+
+    // Identifies the dispatcher run that claimed the message while it is SENDING
+    @Column(length = 36)
+    private String claimToken;
+
+    @Column(nullable = false)
+    private Instant nextAttemptAt;
+
+    @Column(nullable = false)
+    private Instant createdAt;
+
+    private Instant sentAt;
+
+    @Column(length = 500)
+    private String lastError;
+
+    public EmailOutbox() {
+    }
+
+    public EmailOutbox(String type, String recipient, String payload) {
+        this.type = type;
+        this.recipient = recipient;
+        this.payload = payload;
+        this.createdAt = Instant.now();
+        this.nextAttemptAt = this.createdAt;
+    }
+
+    // Getters and setters
+
+    public String getType() {
+        return type;
+    }
+
+    public String getRecipient() {
+        return recipient;
+    }
+
+    public String getPayload() {
+        return payload;
+    }
+
+    public EmailOutboxStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(EmailOutboxStatus status) {
+        this.status = status;
+    }
+
+    public int getAttempts() {
+        return attempts;
+    }
+
+    public void setAttempts(int attempts) {
+        this.attempts = attempts;
+    }
+
+    public String getClaimToken() {
+        return claimToken;
+    }
+
+    public void setClaimToken(String claimToken) {
+        this.claimToken = claimToken;
+    }
+
+    public Instant getNextAttemptAt() {
+        return nextAttemptAt;
+    }
+
+    public void setNextAttemptAt(Instant nextAttemptAt) {
+        this.nextAttemptAt = nextAttemptAt;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    public Instant getSentAt() {
+        return sentAt;
+    }
+
+    public void setSentAt(Instant sentAt) {
+        this.sentAt = sentAt;
+    }
+
+    public String getLastError() {
+        return lastError;
+    }
+
+    public void setLastError(String lastError) {
+        this.lastError = lastError != null && lastError.length() > 500 ? lastError.substring(0, 500) : lastError;
+    }
+
+    @Override
+    public String toString() {
+        return type + " to " + recipient + " (" + status + ")";
+    }
+}
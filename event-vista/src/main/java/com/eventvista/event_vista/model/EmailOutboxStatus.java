@@ -0,0 +1,9 @@
+package com.eventvista.event_vista.model;
+
+public enum EmailOutboxStatus {
+    PENDING,
+    // Claimed by a dispatcher run until nextAttemptAt; see EmailOutboxDispatcher
+    SENDING,
+    SENT,
+    FAILED
+}
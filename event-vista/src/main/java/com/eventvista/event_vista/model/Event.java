@@ -13,6 +13,13 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
+// Per-user listings, date ranges and upcoming-event lookups all filter on user_id
+// and sort on (date, time, id); the date-only index serves the weather prefetch job
+@Table(indexes = {
+        @Index(name = "idx_event_user_date_time", columnList = "user_id, date, time, id"),
+        @Index(name = "idx_event_user_name", columnList = "user_id, name"),
+        @Index(name = "idx_event_date", columnList = "date")
+})
 public class Event extends AbstractEntity {
 
     @ManyToOne
@@ -11,6 +11,7 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
+@Table(indexes = @Index(name = "idx_skill_user_name", columnList = "user_id, name"))
 public class Skill extends AbstractEntity implements Serializable {
 
     @ManyToOne
@@ -4,9 +4,7 @@ import jakarta.persistence.*;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
 
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 
-import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -28,22 +26,18 @@ public class User extends AbstractEntity {
 
     private boolean emailVerified = false;
 
-    private String verificationToken;
-
-    private LocalDateTime verificationTokenExpiryDate;
-
     @OneToMany(mappedBy = "user", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<Event> events = new ArrayList<>();
 
     @OneToOne(mappedBy = "user", cascade = CascadeType.ALL, orphanRemoval = true)
     private Calendar calendar;
 
+    @OneToMany(mappedBy = "user", cascade = CascadeType.REMOVE, orphanRemoval = true)
+    private List<VerificationToken> verificationTokens = new ArrayList<>();
+
     @Lob
     private String pictureUrl;
 
-    // Static method to use the bcrypt dependency for encoding
-    private static final BCryptPasswordEncoder encoder = new BCryptPasswordEncoder();
-
     public User() {}
 
 //    public User(String username, String password) {
@@ -90,11 +84,6 @@ public class User extends AbstractEntity {
     }
 
 
-    // Instance method to use the bcrypt multi-step matcher (.equals is not enough)
-    public boolean isMatchingPassword(String password) {
-        return encoder.matches(password, this.passwordHash);
-    }
-
 
     public List<Event> getEvents() {
         return events;
@@ -131,22 +120,6 @@ public class User extends AbstractEntity {
         this.emailVerified = emailVerified;
     }
 
-    public String getVerificationToken() {
-        return verificationToken;
-    }
-
-    public void setVerificationToken(String verificationToken) {
-        this.verificationToken = verificationToken;
-    }
-
-    public LocalDateTime getVerificationTokenExpiryDate() {
-        return verificationTokenExpiryDate;
-    }
-
-    public void setVerificationTokenExpiryDate(LocalDateTime verificationTokenExpiryDate) {
-        this.verificationTokenExpiryDate = verificationTokenExpiryDate;
-    }
-
     public String getPictureUrl() {
         return pictureUrl;
     }
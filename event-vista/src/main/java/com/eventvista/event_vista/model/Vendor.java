@@ -11,6 +11,10 @@ import java.io.Serializable;
 import java.util.*;
 
 @Entity
+@Table(indexes = {
+        @Index(name = "idx_vendor_user_name", columnList = "user_id, name"),
+        @Index(name = "idx_vendor_user_location", columnList = "user_id, location")
+})
 public class Vendor extends AbstractEntity implements Serializable {
 
     @ManyToOne
@@ -13,6 +13,10 @@ import java.util.List;
 
 
 @Entity
+@Table(indexes = {
+        @Index(name = "idx_venue_user_name", columnList = "user_id, name"),
+        @Index(name = "idx_venue_user_location", columnList = "user_id, location")
+})
 public class Venue extends AbstractEntity {
 
     @Column(unique = true)
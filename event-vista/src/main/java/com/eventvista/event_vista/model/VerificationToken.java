@@ -0,0 +1,73 @@
+package com.eventvista.event_vista.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+
+import java.time.LocalDateTime;
+
+// Email verification token, keyed by the token itself so a verification link is
+// resolved with one primary-key lookup
+// The row is kept after use with consumedAt set, so a repeated click on the same
+// link is recognised as "already verified" until the token is purged
+@Entity
+@Table(indexes = @Index(name = "idx_verification_token_expires_at", columnList = "expiresAt"))
+public class VerificationToken {
+
+    @Id
+    @Column(length = 36)
+    private String token;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user;
+
+    @Column(nullable = false)
+    private LocalDateTime expiresAt;
+
+    private LocalDateTime consumedAt;
+
+    public VerificationToken() {
+    }
+
+    public VerificationToken(String token, User user, LocalDateTime expiresAt) {
+        this.token = token;
+        this.user = user;
+        this.expiresAt = expiresAt;
+    }
+
+    public boolean isConsumed() {
+        return consumedAt != null;
+    }
+
+    public boolean isExpired(LocalDateTime now) {
+        return expiresAt.isBefore(now);
+    }
+
+    // Getters and setters
+
+    public String getToken() {
+        return token;
+    }
+
+    public User getUser() {
+        return user;
+    }
+
+    public LocalDateTime getExpiresAt() {
+        return expiresAt;
+    }
+
+    public LocalDateTime getConsumedAt() {
+        return consumedAt;
+    }
+
+    public void setConsumedAt(LocalDateTime consumedAt) {
+        this.consumedAt = consumedAt;
+    }
+}
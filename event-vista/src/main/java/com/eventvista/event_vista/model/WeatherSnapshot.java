@@ -0,0 +1,78 @@
+package com.eventvista.event_vista.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Lob;
+
+import java.time.Instant;
+
+// Last parsed weather series for one location and endpoint, persisted so the
+// in-memory forecast cache can be reloaded after a restart
+// The slots are stored as a compact binary blob (see WeatherForecast.writeTo)
+@Entity
+public class WeatherSnapshot extends AbstractEntity {
+
+    @Column(unique = true, nullable = false)
+    private String cacheKey;
+
+    @Column(nullable = false)
+    private String location;
+
+    @Column(nullable = false, length = 20)
+    private String endpoint;
+
+    @Column(nullable = false)
+    private Instant fetchedAt;
+
+    @Lob
+    @Column(nullable = false)
+    private byte[] payload;
+
+    public WeatherSnapshot() {
+    }
+
+    public WeatherSnapshot(String cacheKey, String location, String endpoint) {
+        this.cacheKey = cacheKey;
+        this.location = location;
+        this.endpoint = endpoint;
+    }
+
+    // Getters and setters
+
+    public String getCacheKey() {
+        return cacheKey;
+    }
+
+    public String getLocation() {
+        return location;
+    }
+
+    public void setLocation(String location) {
+        this.location = location;
+    }
+
+    public String getEndpoint() {
+        return endpoint;
+    }
+
+    public Instant getFetchedAt() {
+        return fetchedAt;
+    }
+
+    public void setFetchedAt(Instant fetchedAt) {
+        this.fetchedAt = fetchedAt;
+    }
+
+    public byte[] getPayload() {
+        return payload;
+    }
+
+    public void setPayload(byte[] payload) {
+        this.payload = payload;
+    }
+
+    @Override
+    public String toString() {
+        return cacheKey + " @ " + fetchedAt;
+    }
+}
@@ -0,0 +1,25 @@
+package com.eventvista.event_vista.model.dto;
+
+import java.util.List;
+
+// One page of the event listing, ordered by date, time and id
+// nextCursor is passed back as ?cursor= for the following page; it is null on the last page
+public class EventPageDTO {
+    private final List<EventSummaryDTO> events;
+    private final String nextCursor;
+
+    public EventPageDTO(List<EventSummaryDTO> events, String nextCursor) {
+        this.events = events;
+        this.nextCursor = nextCursor;
+    }
+
+    // Getters
+
+    public List<EventSummaryDTO> getEvents() {
+        return events;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+}
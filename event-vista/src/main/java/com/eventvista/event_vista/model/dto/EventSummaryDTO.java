@@ -0,0 +1,68 @@
+package com.eventvista.event_vista.model.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+// Row of the paged event listing: the event's own fields plus the names of its venue
+// and client, read in one query without loading the related entities or vendors
+// Use /api/events/find/{id} for the full event
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class EventSummaryDTO {
+    private final Integer id;
+    private final String name;
+    private final LocalDate date;
+    private final LocalTime time;
+    private final Integer venueId;
+    private final String venueName;
+    private final Integer clientId;
+    private final String clientName;
+
+    // Used by the JPQL constructor expression in EventRepository
+    public EventSummaryDTO(Integer id, String name, LocalDate date, LocalTime time,
+                           Integer venueId, String venueName, Integer clientId, String clientName) {
+        this.id = id;
+        this.name = name;
+        this.date = date;
+        this.time = time;
+        this.venueId = venueId;
+        this.venueName = venueName;
+        this.clientId = clientId;
+        this.clientName = clientName;
+    }
+
+    // Getters
+
+    public Integer getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public LocalDate getDate() {
+        return date;
+    }
+
+    public LocalTime getTime() {
+        return time;
+    }
+
+    public Integer getVenueId() {
+        return venueId;
+    }
+
+    public String getVenueName() {
+        return venueName;
+    }
+
+    public Integer getClientId() {
+        return clientId;
+    }
+
+    public String getClientName() {
+        return clientName;
+    }
+}
@@ -14,6 +14,10 @@ public class WeatherData {
     @JsonProperty("description")
     private String description;
 
+    // Set to true when served from an expired cache entry, omitted otherwise
+    @JsonProperty("stale")
+    private Boolean stale;
+
     // Default constructor needed for JSON deserialization
     public WeatherData() {
     }
@@ -49,6 +53,14 @@ public class WeatherData {
         this.description = description;
     }
 
+    public Boolean getStale() {
+        return stale;
+    }
+
+    public void setStale(Boolean stale) {
+        this.stale = stale;
+    }
+
     // toString method for debugging
     @Override
     public String toString() {
@@ -56,6 +68,7 @@ public class WeatherData {
                 "icon='" + icon + '\'' +
                 ", temperature='" + temperature + '\'' +
                 ", description='" + description + '\'' +
+                ", stale=" + stale +
                 '}';
     }
 }
\ No newline at end of file
@@ -0,0 +1,118 @@
+package com.eventvista.event_vista.model.dto;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Optional;
+
+// Parsed weather series for a single location, as returned by one OWM call
+// Each slot is stored in parallel primitive arrays (date, temperature, icon,
+// description) so a 40-slot forecast costs a handful of arrays instead of a
+// JSON tree, and any event date in the window is answered without another call
+public class WeatherForecast {
+    private final Instant fetchedAt;
+    private final long[] epochDays;
+    private final double[] temperatures;
+    private final String[] icons;
+    private final String[] descriptions;
+    private final boolean stale;
+
+    public WeatherForecast(Instant fetchedAt, long[] epochDays, double[] temperatures,
+                           String[] icons, String[] descriptions) {
+        this(fetchedAt, epochDays, temperatures, icons, descriptions, false);
+    }
+
+    private WeatherForecast(Instant fetchedAt, long[] epochDays, double[] temperatures,
+                            String[] icons, String[] descriptions, boolean stale) {
+        if (epochDays.length != temperatures.length || epochDays.length != icons.length
+                || epochDays.length != descriptions.length) {
+            throw new IllegalArgumentException("Forecast slot arrays must all have the same length");
+        }
+        this.fetchedAt = fetchedAt;
+        this.epochDays = epochDays;
+        this.temperatures = temperatures;
+        this.icons = icons;
+        this.descriptions = descriptions;
+        this.stale = stale;
+    }
+
+    // Returns a view of the same series whose results are flagged as stale
+    public WeatherForecast asStale() {
+        return new WeatherForecast(fetchedAt, epochDays, temperatures, icons, descriptions, true);
+    }
+
+    public boolean isStale() {
+        return stale;
+    }
+
+    public Instant getFetchedAt() {
+        return fetchedAt;
+    }
+
+    public int size() {
+        return epochDays.length;
+    }
+
+    // Returns the first reported conditions for the given date, if the series covers it
+    public Optional<WeatherData> findForDate(LocalDate date) {
+        long epochDay = date.toEpochDay();
+        for (int i = 0; i < epochDays.length; i++) {
+            if (epochDays[i] == epochDay) {
+                WeatherData weatherData = new WeatherData(
+                        icons[i],
+                        String.format("%.1f°F", temperatures[i]),
+                        descriptions[i]
+                );
+                if (stale) {
+                    weatherData.setStale(true);
+                }
+                return Optional.of(weatherData);
+            }
+        }
+        return Optional.empty();
+    }
+
+    // Writes the slot arrays in a compact binary form (count, then one
+    // epoch day, temperature, icon and description per slot)
+    // The fetch timestamp is not included; it is stored alongside by the caller
+    public void writeTo(DataOutput out) throws IOException {
+        out.writeInt(epochDays.length);
+        for (int i = 0; i < epochDays.length; i++) {
+            out.writeLong(epochDays[i]);
+            out.writeDouble(temperatures[i]);
+            out.writeUTF(icons[i]);
+            out.writeUTF(descriptions[i]);
+        }
+    }
+
+    // Reads a series written by writeTo, keeping the original fetch timestamp
+    public static WeatherForecast readFrom(Instant fetchedAt, DataInput in) throws IOException {
+        int size = in.readInt();
+        if (size < 0) {
+            throw new IOException("Invalid forecast slot count: " + size);
+        }
+        long[] epochDays = new long[size];
+        double[] temperatures = new double[size];
+        String[] icons = new String[size];
+        String[] descriptions = new String[size];
+        for (int i = 0; i < size; i++) {
+            epochDays[i] = in.readLong();
+            temperatures[i] = in.readDouble();
+            icons[i] = in.readUTF();
+            descriptions[i] = in.readUTF();
+        }
+        return new WeatherForecast(fetchedAt, epochDays, temperatures, icons, descriptions);
+    }
+
+    @Override
+    public String toString() {
+        return "WeatherForecast{" +
+                "fetchedAt=" + fetchedAt +
+                ", stale=" + stale +
+                ", days=" + Arrays.stream(epochDays).distinct().mapToObj(LocalDate::ofEpochDay).toList() +
+                '}';
+    }
+}
@@ -1,35 +1,53 @@
 package com.eventvista.event_vista.security;
 
-import com.eventvista.event_vista.model.User;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 
 import java.util.Collection;
-import java.util.Collections;
+import java.util.List;
 
 public class CustomUserPrincipal implements UserDetails {
     // This class implements UserDetails to provide user information to Spring Security
-    private final User user;
+    // It is a small immutable snapshot of the user (id, email and name) rather than the
+    // User entity, so it can be cached across requests without holding a JPA entity
+    // Administrators (app.admin.emails) also get ROLE_ADMIN, which the operational stats endpoints require
+    private static final List<GrantedAuthority> AUTHORITIES = List.of(new SimpleGrantedAuthority("ROLE_USER"));
+    private static final List<GrantedAuthority> ADMIN_AUTHORITIES =
+            List.of(new SimpleGrantedAuthority("ROLE_USER"), new SimpleGrantedAuthority("ROLE_ADMIN"));
 
-    public CustomUserPrincipal(User user) {
-        this.user = user;
+    private final Integer userId;
+    private final String emailAddress;
+    private final String name;
+    private final boolean admin;
+
+    public CustomUserPrincipal(Integer userId, String emailAddress, String name) {
+        this(userId, emailAddress, name, false);
+    }
+
+    public CustomUserPrincipal(Integer userId, String emailAddress, String name, boolean admin) {
+        this.userId = userId;
+        this.emailAddress = emailAddress;
+        this.name = name;
+        this.admin = admin;
     }
 
     //returns the authorities granted to the user
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
-        return Collections.singletonList(new SimpleGrantedAuthority("ROLE_USER"));
+        return admin ? ADMIN_AUTHORITIES : AUTHORITIES;
     }
 
+    // The principal is only created for already authenticated requests,
+    // so it never carries the password hash
     @Override
     public String getPassword() {
-        return user.getPasswordHash();
+        return null;
     }
 
     @Override
     public String getUsername() {
-        return user.getEmailAddress();
+        return emailAddress;
     }
 
     @Override
@@ -52,7 +70,19 @@ public class CustomUserPrincipal implements UserDetails {
         return true;
     }
 
-    public User getUser() {
-        return user;
+    public Integer getUserId() {
+        return userId;
+    }
+
+    public String getEmailAddress() {
+        return emailAddress;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public boolean isAdmin() {
+        return admin;
     }
-}
\ No newline at end of file
+}
@@ -1,6 +1,6 @@
 package com.eventvista.event_vista.security;
 
-import com.eventvista.event_vista.service.CustomUserDetailsService;
+import com.eventvista.event_vista.service.UserPrincipalCache;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.Cookie;
@@ -10,7 +10,6 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
@@ -26,9 +25,10 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     @Autowired
     private JwtTokenProvider tokenProvider;
 
-    //Loading the user details from the database using the email (username) found in the token.
+    //Loading the user principal using the email (username) found in the token.
+    //Principals are cached, so most requests do not touch the user table
     @Autowired
-    private CustomUserDetailsService userDetailsService;
+    private UserPrincipalCache principalCache;
 
     @Value("${jwt.cookie.name}")
     private String jwtCookieName;
@@ -40,21 +40,20 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         try {
             String requestUri = request.getRequestURI();
 
-            // Skip token validation for public endpoints
-            if (isPublicEndpoint(requestUri)) {
+            // Skip token validation for public endpoints (shared with SecurityConfig)
+            if (PublicRoutes.isPublic(requestUri)) {
                 filterChain.doFilter(request, response);
                 return;
             }
 
+            // The token is parsed and verified once; the claims are used from here on
             String jwt = getJwtFromRequest(request);
-            if (jwt != null && tokenProvider.validateToken(jwt)) {
-                String tokenType = tokenProvider.getTokenType(jwt);
-
-                if ("access".equals(tokenType)) {
-                    String username = tokenProvider.getUsernameFromToken(jwt);
-                    UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+            Optional<JwtClaims> claims = jwt != null ? tokenProvider.tryParseAndVerify(jwt) : Optional.empty();
+            if (claims.isPresent()) {
+                if (claims.get().isAccessToken()) {
+                    CustomUserPrincipal principal = principalCache.getPrincipal(claims.get().getSubject());
                     UsernamePasswordAuthenticationToken authentication =
-                            new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
+                            new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities());
                     authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
 
                     SecurityContextHolder.getContext().setAuthentication(authentication);
@@ -73,20 +72,6 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
 
-    private boolean isPublicEndpoint(String requestUri) {
-        return requestUri.equals("/api/auth/refresh") ||
-                requestUri.equals("/api/auth/login") ||
-                requestUri.equals("/api/auth/register") ||
-                requestUri.equals("/api/auth/verify") ||
-                requestUri.equals("/api/auth/resend-verification") ||
-                requestUri.equals("/api/auth/reset-password") ||
-                requestUri.equals("/api/auth/user") ||
-                requestUri.equals("/api/auth/logout") ||
-                requestUri.startsWith("/oauth2/") ||
-                requestUri.startsWith("/login/oauth2/") ||
-                requestUri.startsWith("/api/public/");
-    }
-
     // Extracting the JWT token from the request header
     //If the header starts with "Bearer ", it extracts the JWT string.
     private String getJwtFromRequest(HttpServletRequest request) {
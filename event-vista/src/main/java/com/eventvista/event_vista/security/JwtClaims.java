@@ -0,0 +1,80 @@
+package com.eventvista.event_vista.security;
+
+import java.time.Instant;
+
+// Immutable view of a verified JWT's claims
+// Produced once per token by JwtTokenProvider.parseAndVerify so callers can read
+// the subject, type and expiry without parsing or verifying the token again
+public final class JwtClaims {
+    private final String subject;
+    private final String email;
+    private final String type;
+    private final Instant issuedAt;
+    private final Instant expiresAt;
+    private final String tokenId;
+    private final String familyId;
+
+    public JwtClaims(String subject, String email, String type, Instant issuedAt, Instant expiresAt,
+                     String tokenId, String familyId) {
+        this.subject = subject;
+        this.email = email;
+        this.type = type;
+        this.issuedAt = issuedAt;
+        this.expiresAt = expiresAt;
+        this.tokenId = tokenId;
+        this.familyId = familyId;
+    }
+
+    // The subject is the user's email address
+    public String getSubject() {
+        return subject;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public Instant getIssuedAt() {
+        return issuedAt;
+    }
+
+    public Instant getExpiresAt() {
+        return expiresAt;
+    }
+
+    // The jti claim; null for tokens issued before token ids were added
+    public String getTokenId() {
+        return tokenId;
+    }
+
+    // Refresh tokens only: shared by every token in one login's rotation chain
+    public String getFamilyId() {
+        return familyId;
+    }
+
+    public boolean isAccessToken() {
+        return "access".equals(type);
+    }
+
+    public boolean isRefreshToken() {
+        return "refresh".equals(type);
+    }
+
+    public boolean isExpired(Instant now) {
+        return expiresAt != null && !expiresAt.isAfter(now);
+    }
+
+    @Override
+    public String toString() {
+        return "JwtClaims{" +
+                "subject='" + subject + '\'' +
+                ", type='" + type + '\'' +
+                ", tokenId='" + tokenId + '\'' +
+                ", expiresAt=" + expiresAt +
+                '}';
+    }
+}
@@ -3,18 +3,26 @@ package com.eventvista.event_vista.security;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
 import io.jsonwebtoken.security.SignatureException;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
+import java.time.Instant;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
 
 @Component
 public class JwtTokenProvider {
+    private static final Logger logger = LoggerFactory.getLogger(JwtTokenProvider.class);
 
     @Value("${jwt.secret}")
     private String jwtSecret;
@@ -25,20 +33,66 @@ public class JwtTokenProvider {
     @Value("${jwt.refresh-token.expiration}")
     private int refreshTokenExpirationInMs;
 
+    // HMAC key derived from the secret once at startup, and a parser bound to it
+    // JwtParser is immutable and thread-safe, so one instance serves every request
+    private SecretKey signingKey;
+    private JwtParser jwtParser;
+
+    @Autowired
+    private VerifiedTokenCache tokenCache;
+
+    // Revoked token ids; checked in memory on every request
+    @Autowired
+    private TokenRevocationRegistry revocations;
+
     // creating a signing key for JWT token. Ensures that the token cannot be forged without the secret key.
-    private SecretKey getSigningKey() {
-        return Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
+    @PostConstruct
+    void initSigningKey() {
+        signingKey = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
+        jwtParser = Jwts.parserBuilder()
+                .setSigningKey(signingKey)
+                .build();
     }
 
     public String generateAccessToken(Authentication authentication) {
-        return generateToken(authentication, accessTokenExpirationInMs, "access");
+        return buildToken(emailOf(authentication), accessTokenExpirationInMs, "access", null);
     }
 
+    // Starts a new refresh-token family for this login (see rotateRefreshToken)
     public String generateRefreshToken(Authentication authentication) {
-        return generateToken(authentication, refreshTokenExpirationInMs, "refresh");
+        return buildToken(emailOf(authentication), refreshTokenExpirationInMs, "refresh", UUID.randomUUID().toString());
+    }
+
+    // Exchanges a refresh token for a new access token and a new refresh token in the same family
+    // The presented token's id is revoked by the exchange, so each refresh token works once
+    // Presenting a used one again means it was copied, so the whole family is revoked and
+    // that login has to sign in again
+    // Refresh tokens issued before token ids were added cannot be rotated and are refused
+    public Optional<TokenPair> rotateRefreshToken(String refreshToken) {
+        JwtClaims claims;
+        try {
+            claims = parseAndVerify(refreshToken);
+        } catch (JwtException | IllegalArgumentException e) {
+            return Optional.empty();
+        }
+        if (!claims.isRefreshToken() || claims.getTokenId() == null || claims.getFamilyId() == null
+                || revocations.isRevoked(claims.getFamilyId())) {
+            return Optional.empty();
+        }
+        if (!revocations.revoke(claims.getTokenId(), claims.getExpiresAt())) {
+            logger.warn("Refresh token reuse detected for {}: token {} was already used, revoking token family {}",
+                    claims.getSubject(), claims.getTokenId(), claims.getFamilyId());
+            revokeFamily(claims.getFamilyId());
+            return Optional.empty();
+        }
+
+        String email = claims.getSubject();
+        return Optional.of(new TokenPair(
+                buildToken(email, accessTokenExpirationInMs, "access", null),
+                buildToken(email, refreshTokenExpirationInMs, "refresh", claims.getFamilyId())));
     }
 
-    private String generateToken(Authentication authentication, long expirationInMs, String tokenType) {
+    private String emailOf(Authentication authentication) {
         // Get the authenticated principal (the user who just logged in)
         // This could be either an OAuth2User (Google login) or a UserDetails (email/password login)
         Object principal = authentication.getPrincipal();
@@ -52,15 +106,21 @@ public class JwtTokenProvider {
                     (org.springframework.security.oauth2.core.user.OAuth2User) principal;
             // Extract the user's email from the OAuth2 attributes
             email = (String) oauth2User.getAttributes().get("email");
-        } else if (principal instanceof org.springframework.security.core.userdetails.User) {
-            // Cast the principal to User (used in standard email/password login)
-            org.springframework.security.core.userdetails.User userDetails =
-                    (org.springframework.security.core.userdetails.User) principal;
+        } else if (principal instanceof org.springframework.security.core.userdetails.UserDetails) {
+            // Cast the principal to UserDetails (a User from email/password login,
+            // or the CustomUserPrincipal set by the JWT filter)
+            org.springframework.security.core.userdetails.UserDetails userDetails =
+                    (org.springframework.security.core.userdetails.UserDetails) principal;
             email = userDetails.getUsername(); // This will return the email (which is stored as the username in UserDetails)
         } else {
             throw new IllegalStateException("Unsupported authentication principal type: " + principal.getClass());
         }
+        return email;
+    }
 
+    // Every token gets a random id (jti) so it can be revoked on its own;
+    // refresh tokens also carry their family id in the "fam" claim
+    private String buildToken(String email, long expirationInMs, String tokenType, String familyId) {
         //Setting the issue time and expiration time for the token.
         Date now = new Date();
         Date expiryDate = new Date(now.getTime() + expirationInMs);
@@ -68,47 +128,61 @@ public class JwtTokenProvider {
         Map<String, Object> claims = new HashMap<>();
         claims.put("type", tokenType);
         claims.put("email", email);
+        if (familyId != null) {
+            claims.put("fam", familyId);
+        }
 
         // Creating the JWT token using the builder pattern
         return Jwts.builder()
                 .setClaims(claims)
                 .setSubject(email)
+                .setId(UUID.randomUUID().toString())
                 .setIssuedAt(now)
                 .setExpiration(expiryDate)
-                .signWith(getSigningKey())
+                .signWith(signingKey)
                 .compact();
     }
 
-    // Extracting the username (email) from the JWT token
-    public String getUsernameFromToken(String token) {
-        // Parsing the JWT token and extracting the claims
-        Claims claims = Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
-
-        return claims.getSubject();
-    }
-
-    public String getTokenType(String token) {
-        Claims claims = Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
-
-        return claims.get("type", String.class);
+    // Verifies the signature and expiry and returns the token's claims
+    // Throws a JwtException (or IllegalArgumentException for an empty token) if the token is not valid
+    public JwtClaims parseAndVerify(String token) {
+        Claims claims = jwtParser.parseClaimsJws(token).getBody();
+        return new JwtClaims(
+                claims.getSubject(),
+                claims.get("email", String.class),
+                claims.get("type", String.class),
+                claims.getIssuedAt() != null ? claims.getIssuedAt().toInstant() : null,
+                claims.getExpiration() != null ? claims.getExpiration().toInstant() : null,
+                claims.getId(),
+                claims.get("fam", String.class)
+        );
     }
 
-    // Validating the JWT token
-    public boolean validateToken(String authToken) {
+    // Same as parseAndVerify, but logs the reason and returns empty for an invalid token
+    // Verified tokens are cached until they expire, so a token sent again skips the
+    // signature check and parsing; revoked tokens are always rejected
+    public Optional<JwtClaims> tryParseAndVerify(String token) {
+        if (token == null || token.isEmpty()) {
+            System.err.println("JWT claims string is empty");
+            return Optional.empty();
+        }
+        JwtClaims cached = tokenCache.get(token);
+        if (cached != null) {
+            if (isRevoked(cached)) {
+                tokenCache.invalidate(token);
+                System.err.println("Revoked JWT token");
+                return Optional.empty();
+            }
+            return Optional.of(cached);
+        }
         try {
-            Jwts.parserBuilder()
-                    .setSigningKey(getSigningKey())
-                    .build()
-                    .parseClaimsJws(authToken);
-            return true;
+            JwtClaims claims = parseAndVerify(token);
+            if (isRevoked(claims)) {
+                System.err.println("Revoked JWT token");
+                return Optional.empty();
+            }
+            tokenCache.put(token, claims);
+            return Optional.of(claims);
         } catch (SignatureException ex) {
             System.err.println("Invalid JWT signature");
         } catch (MalformedJwtException ex) {
@@ -120,21 +194,56 @@ public class JwtTokenProvider {
         } catch (IllegalArgumentException ex) {
             System.err.println("JWT claims string is empty");
         }
-        return false;
+        return Optional.empty();
     }
 
-    public boolean isTokenExpired(String token) {
+    // Extracting the username (email) from the JWT token
+    public String getUsernameFromToken(String token) {
+        return parseAndVerify(token).getSubject();
+    }
+
+    public String getTokenType(String token) {
+        return parseAndVerify(token).getType();
+    }
+
+    // Validating the JWT token
+    public boolean validateToken(String authToken) {
+        return tryParseAndVerify(authToken).isPresent();
+    }
+
+    // Rejects the token from now until it expires, e.g. on logout; revoking a refresh
+    // token also revokes every later token rotated from it
+    // Tokens that are already invalid need no revocation
+    public void revokeToken(String token) {
         try {
-            Claims claims = Jwts.parserBuilder()
-                    .setSigningKey(getSigningKey())
-                    .build()
-                    .parseClaimsJws(token)
-                    .getBody();
+            JwtClaims claims = parseAndVerify(token);
+            tokenCache.invalidate(token);
+            revocations.revoke(claims.getTokenId(), claims.getExpiresAt());
+            if (claims.isRefreshToken() && claims.getFamilyId() != null) {
+                revokeFamily(claims.getFamilyId());
+            }
+        } catch (JwtException | IllegalArgumentException e) {
+            // Invalid or expired tokens are rejected anyway
+        }
+    }
+
+    // A family stays revoked for a full refresh-token lifetime, which outlasts any
+    // token rotated from it before the revocation
+    private void revokeFamily(String familyId) {
+        revocations.revoke(familyId, Instant.now().plusMillis(refreshTokenExpirationInMs));
+    }
 
-            return claims.getExpiration().before(new Date());
+    // The family check only applies to refresh tokens; access tokens carry no family
+    private boolean isRevoked(JwtClaims claims) {
+        return revocations.isRevoked(claims.getTokenId())
+                || (claims.getFamilyId() != null && revocations.isRevoked(claims.getFamilyId()));
+    }
+
+    public boolean isTokenExpired(String token) {
+        try {
+            return parseAndVerify(token).isExpired(Instant.now());
         } catch (Exception e) {
             return true;
         }
     }
 }
-
@@ -0,0 +1,146 @@
+package com.eventvista.event_vista.security;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+// Throttles the public, BCrypt-heavy auth endpoints before any database or hashing work
+// Every request is counted per client IP, and, when the request names an account,
+// per email address as well; over either limit the request is answered with 429
+// Counters are fixed-size and lock-free (see SlidingWindowCounter)
+// The IP is the socket address; behind a reverse proxy, enable Tomcat's
+// RemoteIpValve (server.forward-headers-strategy) so it is the real client address
+@Component
+public class LoginThrottleFilter extends OncePerRequestFilter {
+    private static final Set<String> THROTTLED_PATHS = Set.of(
+            "/api/auth/login",
+            "/api/auth/register",
+            "/api/auth/resend-verification",
+            "/api/auth/reset-password"
+    );
+    // The only throttled endpoint that takes the email as a request parameter
+    private static final String PARAMETER_EMAIL_PATH = "/api/auth/resend-verification";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final boolean enabled;
+    private final int maxBodyBytes;
+    private final SlidingWindowCounter ipCounter;
+    private final SlidingWindowCounter emailCounter;
+
+    public LoginThrottleFilter(@Value("${auth.throttle.enabled:true}") boolean enabled,
+                               @Value("${auth.throttle.stripes:4096}") int stripes,
+                               @Value("${auth.throttle.window-seconds:60}") long windowSeconds,
+                               @Value("${auth.throttle.ip.limit:20}") int ipLimit,
+                               @Value("${auth.throttle.email.limit:10}") int emailLimit,
+                               @Value("${auth.throttle.max-body-bytes:8192}") int maxBodyBytes) {
+        this.enabled = enabled;
+        this.maxBodyBytes = maxBodyBytes;
+        this.ipCounter = new SlidingWindowCounter(stripes, windowSeconds * 1000, ipLimit);
+        this.emailCounter = new SlidingWindowCounter(stripes, windowSeconds * 1000, emailLimit);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled || !"POST".equals(request.getMethod()) || !THROTTLED_PATHS.contains(request.getRequestURI());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        long now = System.currentTimeMillis();
+        if (!ipCounter.tryAcquire(request.getRemoteAddr(), now)) {
+            reject(response, ipCounter, now);
+            return;
+        }
+
+        // resend-verification takes the email as a request parameter, the others as JSON
+        // The JSON endpoints never look at parameters: getParameter also reads the query
+        // string, and the controller binds the email from the body
+        HttpServletRequest forwarded = request;
+        String email = null;
+        if (PARAMETER_EMAIL_PATH.equals(request.getRequestURI())) {
+            email = request.getParameter("emailAddress");
+        } else if (isJson(request)) {
+            byte[] body = readBody(request);
+            if (body == null) {
+                response.setStatus(HttpStatus.PAYLOAD_TOO_LARGE.value());
+                writeMessage(response, "Request body too large");
+                return;
+            }
+            forwarded = new CachedBodyHttpServletRequest(request, body);
+            email = emailFromBody(body);
+        }
+        if (email != null && !email.isBlank()
+                && !emailCounter.tryAcquire(email.trim().toLowerCase(Locale.ROOT), now)) {
+            reject(response, emailCounter, now);
+            return;
+        }
+
+        filterChain.doFilter(forwarded, response);
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", enabled);
+        stats.put("stripes", ipCounter.getStripes());
+        stats.put("ipLimit", ipCounter.getLimit());
+        stats.put("ipRejected", ipCounter.getRejected());
+        stats.put("emailLimit", emailCounter.getLimit());
+        stats.put("emailRejected", emailCounter.getRejected());
+        return stats;
+    }
+
+    private void reject(HttpServletResponse response, SlidingWindowCounter counter, long now) throws IOException {
+        long retryAfterSeconds = Math.max(1, (counter.millisUntilNextWindow(now) + 999) / 1000);
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader("Retry-After", String.valueOf(retryAfterSeconds));
+        writeMessage(response, "Too many requests. Please try again later.");
+    }
+
+    private void writeMessage(HttpServletResponse response, String message) throws IOException {
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), Map.of("message", message));
+    }
+
+    private boolean isJson(HttpServletRequest request) {
+        String contentType = request.getContentType();
+        return contentType != null && contentType.toLowerCase(Locale.ROOT).startsWith(MediaType.APPLICATION_JSON_VALUE);
+    }
+
+    // Reads at most maxBodyBytes; returns null if the body is larger
+    private byte[] readBody(HttpServletRequest request) throws IOException {
+        if (request.getContentLengthLong() > maxBodyBytes) {
+            return null;
+        }
+        try (InputStream in = request.getInputStream()) {
+            byte[] body = in.readNBytes(maxBodyBytes + 1);
+            return body.length > maxBodyBytes ? null : body;
+        }
+    }
+
+    // Malformed bodies are left for the controller to reject
+    private String emailFromBody(byte[] body) {
+        try {
+            JsonNode email = objectMapper.readTree(body).get("emailAddress");
+            return email != null && email.isTextual() ? email.asText() : null;
+        } catch (IOException e) {
+            return null;
+        }
+    }
+}
@@ -101,9 +101,10 @@ public class OAuth2SuccessHandler extends SimpleUrlAuthenticationSuccessHandler
             Cookie refreshTokenCookie = new Cookie(jwtCookieName + "_refresh", refreshToken);
             refreshTokenCookie.setHttpOnly(jwtCookieHttpOnly);
             refreshTokenCookie.setSecure(jwtCookieSecure);
-            refreshTokenCookie.setPath("/api/auth/refresh");
+            refreshTokenCookie.setPath(RefreshTokenCookies.PATH);
             refreshTokenCookie.setMaxAge(604800); // 7 days in seconds
             response.addCookie(refreshTokenCookie);
+            response.addCookie(RefreshTokenCookies.expireLegacy(jwtCookieName, jwtCookieSecure, jwtCookieHttpOnly));
 
             // Redirect to frontend with user info
             String redirectUrl = UriComponentsBuilder.fromUriString(authorizedRedirectUri)
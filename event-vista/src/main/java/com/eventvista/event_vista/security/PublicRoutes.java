@@ -0,0 +1,105 @@
+package com.eventvista.event_vista.security;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+// Single registry of the endpoints that are reachable without authentication
+// SecurityConfig passes patterns() to permitAll, and JwtAuthenticationFilter skips
+// token handling for the same routes through isPublic
+// Patterns are either an exact path or a path ending in "/**" (that path and
+// everything below it), matching Spring's pattern semantics for these two forms
+// At class load the patterns are compiled into a table of exact paths indexed by
+// length, so a lookup costs at most a couple of string compares, plus a startsWith
+// per "/**" prefix; nothing is allocated per request
+public final class PublicRoutes {
+
+    private static final String[] PATTERNS = {
+            "/api/auth/login",
+            "/api/auth/register",
+            "/api/auth/verify",
+            "/api/auth/resend-verification",
+            "/api/auth/reset-password",
+            "/api/auth/user",
+            "/api/auth/refresh",
+            "/api/auth/logout",
+            "/api/public/**",
+            "/oauth2/**",
+            "/login/oauth2/**"
+    };
+
+    private static final Compiled COMPILED = compile(PATTERNS);
+
+    private PublicRoutes() {
+    }
+
+    // Copy of the patterns for HttpSecurity.requestMatchers
+    public static String[] patterns() {
+        return PATTERNS.clone();
+    }
+
+    public static boolean isPublic(String requestUri) {
+        return requestUri != null && COMPILED.matches(requestUri);
+    }
+
+    static Compiled compile(String[] patterns) {
+        List<String> exact = new ArrayList<>();
+        List<String> prefixes = new ArrayList<>();
+        for (String pattern : patterns) {
+            if (!pattern.startsWith("/") || pattern.length() < 2) {
+                throw new IllegalArgumentException("Public route must be an absolute path: " + pattern);
+            }
+            boolean wildcard = pattern.endsWith("/**");
+            String path = wildcard ? pattern.substring(0, pattern.length() - 3) : pattern;
+            if (path.contains("*") || path.contains("{")) {
+                throw new IllegalArgumentException("Only exact paths and trailing /** are supported: " + pattern);
+            }
+            if (wildcard) {
+                // "/x/**" matches "/x" itself as well as everything below it
+                exact.add(path);
+                prefixes.add(path + "/");
+            } else {
+                exact.add(path);
+            }
+        }
+        return new Compiled(exact, prefixes);
+    }
+
+    static final class Compiled {
+        // byLength[n] holds the exact public paths that are n characters long
+        private final String[][] byLength;
+        private final String[] prefixes;
+
+        private Compiled(List<String> exact, List<String> prefixes) {
+            int maxLength = exact.stream().mapToInt(String::length).max().orElse(0);
+            String[][] table = new String[maxLength + 1][0];
+            for (String path : exact) {
+                String[] bucket = table[path.length()];
+                if (!Arrays.asList(bucket).contains(path)) {
+                    bucket = Arrays.copyOf(bucket, bucket.length + 1);
+                    bucket[bucket.length - 1] = path;
+                    table[path.length()] = bucket;
+                }
+            }
+            this.byLength = table;
+            this.prefixes = prefixes.toArray(new String[0]);
+        }
+
+        boolean matches(String path) {
+            int length = path.length();
+            if (length < byLength.length) {
+                for (String candidate : byLength[length]) {
+                    if (candidate.equals(path)) {
+                        return true;
+                    }
+                }
+            }
+            for (String prefix : prefixes) {
+                if (path.startsWith(prefix)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
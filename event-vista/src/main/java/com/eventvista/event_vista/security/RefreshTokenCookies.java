@@ -0,0 +1,47 @@
+package com.eventvista.event_vista.security;
+
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Helpers for the refresh-token cookie, which is scoped to /api/auth
+// Refresh cookies issued before that change have Path=/api/auth/refresh; browsers keep
+// them until they expire and send both cookies to /refresh, the more specific path first.
+// Every response that sets or clears the refresh cookie also expires the old one
+public final class RefreshTokenCookies {
+    public static final String PATH = "/api/auth";
+    private static final String LEGACY_PATH = "/api/auth/refresh";
+
+    private RefreshTokenCookies() {
+    }
+
+    public static String name(String jwtCookieName) {
+        return jwtCookieName + "_refresh";
+    }
+
+    // Values of every refresh cookie on the request, in the order the browser sent them
+    public static List<String> values(HttpServletRequest request, String jwtCookieName) {
+        List<String> values = new ArrayList<>();
+        if (request.getCookies() != null) {
+            for (Cookie cookie : request.getCookies()) {
+                if (name(jwtCookieName).equals(cookie.getName()) && cookie.getValue() != null
+                        && !cookie.getValue().isEmpty()) {
+                    values.add(cookie.getValue());
+                }
+            }
+        }
+        return values;
+    }
+
+    // Deletes a Path=/api/auth/refresh cookie left over from before the path change
+    public static Cookie expireLegacy(String jwtCookieName, boolean secure, boolean httpOnly) {
+        Cookie cookie = new Cookie(name(jwtCookieName), null);
+        cookie.setHttpOnly(httpOnly);
+        cookie.setSecure(secure);
+        cookie.setPath(LEGACY_PATH);
+        cookie.setMaxAge(0);
+        return cookie;
+    }
+}
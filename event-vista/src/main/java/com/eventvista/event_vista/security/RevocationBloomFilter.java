@@ -0,0 +1,68 @@
+package com.eventvista.event_vista.security;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// Fixed-size Bloom filter over token ids
+// mightContain never returns false for an id that was put, and returns true for an
+// id that was not put with roughly the configured false-positive rate while the
+// filter holds no more than its expected number of ids
+// Bits are set with atomic OR, so ids can be added while other threads read
+class RevocationBloomFilter {
+    private final AtomicLongArray bits;
+    private final long bitCount;
+    private final int hashCount;
+
+    RevocationBloomFilter(int expectedIds, double falsePositiveRate) {
+        int n = Math.max(1, expectedIds);
+        long m = (long) Math.ceil(-n * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        this.bitCount = Math.max(64, (m + 63) / 64 * 64);
+        this.bits = new AtomicLongArray((int) (bitCount / 64));
+        this.hashCount = Math.max(1, (int) Math.round((double) bitCount / n * Math.log(2)));
+    }
+
+    void put(String id) {
+        long h1 = hash(id);
+        long h2 = mix(h1);
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Math.floorMod(h1 + i * h2, bitCount);
+            long mask = 1L << (bit & 63);
+            bits.accumulateAndGet((int) (bit >>> 6), mask, (current, add) -> current | add);
+        }
+    }
+
+    boolean mightContain(String id) {
+        long h1 = hash(id);
+        long h2 = mix(h1);
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Math.floorMod(h1 + i * h2, bitCount);
+            if ((bits.get((int) (bit >>> 6)) & (1L << (bit & 63))) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    long getBitCount() {
+        return bitCount;
+    }
+
+    int getHashCount() {
+        return hashCount;
+    }
+
+    // String caches its hashCode, so repeated checks of the same id (the jti held by
+    // cached claims) cost no rehashing; 32 bits are plenty for the filter's size
+    private static long hash(String id) {
+        return mix(id.hashCode());
+    }
+
+    // Finalizer from MurmurHash3, used to derive the second hash for double hashing
+    private static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h | 1;
+    }
+}
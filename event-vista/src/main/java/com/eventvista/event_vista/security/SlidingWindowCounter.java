@@ -0,0 +1,122 @@
+package com.eventvista.event_vista.security;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// Fixed-size, lock-free sliding-window request counter
+// Keys are hashed onto a power-of-two number of stripes, so memory does not grow with
+// the number of distinct clients; keys that share a stripe share its budget, which can
+// only make the limit stricter, never looser
+// Each stripe keeps two slots in one AtomicLongArray: the current window (window id in
+// the high 32 bits, count in the low 32) and the previous window in the same layout
+// The estimate weights the previous window's count by how much of it still overlaps
+// the sliding window, the usual two-bucket approximation
+class SlidingWindowCounter {
+    private static final long COUNT_MASK = 0xFFFF_FFFFL;
+
+    private final AtomicLongArray slots;
+    private final int stripeMask;
+    private final long windowMillis;
+    private final int limit;
+    // Per-instance seed so clients cannot pick keys that collide on purpose
+    private final int seed = ThreadLocalRandom.current().nextInt();
+
+    private final AtomicLong rejected = new AtomicLong();
+
+    SlidingWindowCounter(int stripes, long windowMillis, int limit) {
+        int size = Integer.highestOneBit(Math.max(1, stripes - 1) << 1);
+        this.slots = new AtomicLongArray(size * 2);
+        this.stripeMask = size - 1;
+        this.windowMillis = windowMillis;
+        this.limit = limit;
+    }
+
+    // Counts one request for the key and returns false if the key is over its limit
+    // Rejected requests are counted too, so a client that keeps flooding stays blocked
+    // A request stamped before the stripe's last rollover (its thread read the clock
+    // earlier) is counted in the newer window as if it arrived at that window's start;
+    // the stripe never moves back to an older window
+    boolean tryAcquire(String key, long nowMillis) {
+        int stripe = stripe(key);
+        long window = nowMillis / windowMillis;
+        long windowId = window & COUNT_MASK;
+
+        long current;
+        long updated;
+        do {
+            current = slots.get(stripe * 2);
+            long storedId = current >>> 32;
+            // 0 is an unused stripe, not window 0
+            if (current != 0 && (storedId == windowId || isBefore(windowId, storedId))) {
+                long count = current & COUNT_MASK;
+                updated = count == COUNT_MASK ? current : current + 1;
+            } else {
+                updated = (windowId << 32) | 1;
+            }
+        } while (!slots.compareAndSet(stripe * 2, current, updated));
+
+        long countedId = updated >>> 32;
+        double overlap;
+        if (countedId == windowId) {
+            if ((current >>> 32) != windowId) {
+                // This thread rolled the stripe over; keep the old window as "previous"
+                storePrevious(stripe, current);
+            }
+            overlap = 1.0 - (double) (nowMillis % windowMillis) / windowMillis;
+        } else {
+            overlap = 1.0;
+        }
+
+        long previous = slots.get(stripe * 2 + 1);
+        long previousCount = (previous >>> 32) == ((countedId - 1) & COUNT_MASK) ? previous & COUNT_MASK : 0;
+        double estimate = previousCount * overlap + (updated & COUNT_MASK);
+        if (estimate > limit) {
+            rejected.incrementAndGet();
+            return false;
+        }
+        return true;
+    }
+
+    // Milliseconds until the current window ends, used for Retry-After
+    long millisUntilNextWindow(long nowMillis) {
+        return windowMillis - nowMillis % windowMillis;
+    }
+
+    long getRejected() {
+        return rejected.get();
+    }
+
+    int getStripes() {
+        return stripeMask + 1;
+    }
+
+    int getLimit() {
+        return limit;
+    }
+
+    // Two threads can roll the same stripe over in quick succession; the one that
+    // finishes last must not replace a newer previous window with an older one
+    private void storePrevious(int stripe, long rolledOver) {
+        long previous;
+        do {
+            previous = slots.get(stripe * 2 + 1);
+            if (previous != 0 && !isBefore(previous >>> 32, rolledOver >>> 32)) {
+                return;
+            }
+        } while (!slots.compareAndSet(stripe * 2 + 1, previous, rolledOver));
+    }
+
+    // Window ids are kept modulo 2^32, so they are compared by their signed difference
+    private static boolean isBefore(long windowId, long otherWindowId) {
+        return (int) (otherWindowId - windowId) > 0;
+    }
+
+    private int stripe(String key) {
+        int h = key.hashCode() ^ seed;
+        h ^= h >>> 16;
+        h *= 0x85EBCA6B;
+        h ^= h >>> 13;
+        return h & stripeMask;
+    }
+}
@@ -0,0 +1,20 @@
+package com.eventvista.event_vista.security;
+
+// A new access token and the refresh token that replaces the one just used
+public final class TokenPair {
+    private final String accessToken;
+    private final String refreshToken;
+
+    public TokenPair(String accessToken, String refreshToken) {
+        this.accessToken = accessToken;
+        this.refreshToken = refreshToken;
+    }
+
+    public String getAccessToken() {
+        return accessToken;
+    }
+
+    public String getRefreshToken() {
+        return refreshToken;
+    }
+}
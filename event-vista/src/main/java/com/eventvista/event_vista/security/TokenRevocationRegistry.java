@@ -0,0 +1,133 @@
+package com.eventvista.event_vista.security;
+
+import com.eventvista.event_vista.cache.SharedCache;
+import com.eventvista.event_vista.cache.TwoTierCache;
+import com.eventvista.event_vista.data.RevokedTokenRepository;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Revoked token ids (jti and refresh-token family ids)
+// Every revocation is written to the revoked_token table and added to an in-memory
+// Bloom filter. A check that misses the filter, which is every check for a live
+// token, is answered without I/O; only filter hits go to the table, to tell real
+// revocations from false positives
+// Table lookups are cached in a two-tier cache; revoking an id invalidates it there,
+// and the broadcast adds the id to every instance's filter straight away
+// The filter is also rebuilt from the table on a schedule, which drops expired ids and
+// catches up on any broadcast an instance missed
+@Component
+public class TokenRevocationRegistry {
+    private static final Logger logger = LoggerFactory.getLogger(TokenRevocationRegistry.class);
+
+    private final RevokedTokenRepository repository;
+    private final TwoTierCache<Boolean> lookups;
+    private final int expectedIds;
+    private final double falsePositiveRate;
+
+    private volatile RevocationBloomFilter filter;
+    private final AtomicInteger idsInFilter = new AtomicInteger();
+
+    private final AtomicLong checks = new AtomicLong();
+    private final AtomicLong filterHits = new AtomicLong();
+    private final AtomicLong confirmedRevoked = new AtomicLong();
+
+    public TokenRevocationRegistry(RevokedTokenRepository repository, SharedCache sharedCache,
+                                   @Value("${auth.revocation.expected-ids:10000}") int expectedIds,
+                                   @Value("${auth.revocation.false-positive-rate:0.01}") double falsePositiveRate,
+                                   @Value("${auth.revocation.lookup-ttl-seconds:600}") long lookupTtlSeconds) {
+        this.repository = repository;
+        this.expectedIds = expectedIds;
+        this.falsePositiveRate = falsePositiveRate;
+        this.filter = new RevocationBloomFilter(expectedIds, falsePositiveRate);
+        this.lookups = new TwoTierCache<>("revoked-tokens", sharedCache, Boolean.class,
+                Duration.ofSeconds(lookupTtlSeconds), Duration.ofSeconds(lookupTtlSeconds), expectedIds);
+        // Invalidations in this region only come from revoke(), on this or another instance
+        lookups.onInvalidation(tokenId -> filter.put(tokenId));
+    }
+
+    @PostConstruct
+    void loadRevocations() {
+        rebuild();
+    }
+
+    public boolean isRevoked(String tokenId) {
+        if (tokenId == null) {
+            return false;
+        }
+        checks.incrementAndGet();
+        if (!filter.mightContain(tokenId)) {
+            return false;
+        }
+        filterHits.incrementAndGet();
+        boolean revoked = lookups.get(tokenId,
+                id -> repository.existsByTokenIdAndExpiresAtAfter(id, Instant.now()));
+        if (revoked) {
+            confirmedRevoked.incrementAndGet();
+        }
+        return revoked;
+    }
+
+    // Revokes the id until expiresAt; returns false if it was already revoked, so a
+    // caller can use the first successful revocation as a one-time claim on the id
+    // The claim is the row insert: the primary key lets exactly one insert of an id
+    // succeed, across all instances. An expired row that has not been purged yet also
+    // counts as already revoked, which is harmless since its tokens have expired too
+    public boolean revoke(String tokenId, Instant expiresAt) {
+        if (tokenId == null || isRevoked(tokenId)) {
+            return false;
+        }
+        try {
+            repository.insert(tokenId, expiresAt, Instant.now());
+        } catch (DataIntegrityViolationException e) {
+            return false;
+        }
+        // Under the rebuild lock so the id cannot land in a filter that is being replaced
+        synchronized (this) {
+            filter.put(tokenId);
+        }
+        idsInFilter.incrementAndGet();
+        lookups.invalidate(tokenId);
+        return true;
+    }
+
+    // Deletes expired rows and rebuilds the filter from the rest, sized for twice the
+    // current count so it stays near the target false-positive rate until the next run
+    @Scheduled(fixedDelayString = "${auth.revocation.rebuild-interval-ms:300000}",
+            initialDelayString = "${auth.revocation.rebuild-interval-ms:300000}")
+    public synchronized void rebuild() {
+        Instant now = Instant.now();
+        int purged = repository.deleteExpired(now);
+        List<String> ids = repository.findActiveTokenIds(now);
+        RevocationBloomFilter rebuilt = new RevocationBloomFilter(Math.max(expectedIds, ids.size() * 2), falsePositiveRate);
+        ids.forEach(rebuilt::put);
+        filter = rebuilt;
+        idsInFilter.set(ids.size());
+        logger.debug("Rebuilt token revocation filter with {} ids ({} expired ids purged)", ids.size(), purged);
+    }
+
+    public Map<String, Object> getStats() {
+        RevocationBloomFilter current = filter;
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("revokedIds", idsInFilter.get());
+        stats.put("filterBits", current.getBitCount());
+        stats.put("filterHashes", current.getHashCount());
+        stats.put("checks", checks.get());
+        stats.put("filterHits", filterHits.get());
+        stats.put("confirmedRevoked", confirmedRevoked.get());
+        stats.put("lookupCache", lookups.getStats());
+        return stats;
+    }
+}
@@ -0,0 +1,110 @@
+package com.eventvista.event_vista.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Bounded cache of already verified JWTs, so a token the browser sends again and
+// again for its 15 minute lifetime is only signature-checked and parsed once
+// Entries are keyed by a SHA-256 hash of the whole raw token (never just the
+// signature segment, which would let a forged payload reuse a valid signature)
+// and expire with the token itself
+// When the cache is full, Caffeine evicts the entries least likely to be used again
+// one at a time, so live sessions are never all re-verified at once
+// Revocation itself is tracked by token id in TokenRevocationRegistry; revoking a
+// token drops its entry here
+@Component
+public class VerifiedTokenCache {
+    private final Cache<String, JwtClaims> verified;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    public VerifiedTokenCache(@Value("${auth.token-cache.max-entries:10000}") int maxEntries) {
+        this.verified = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfter(new UntilTokenExpires())
+                .build();
+    }
+
+    // Returns the cached claims if the token was verified before and has not expired,
+    // otherwise null
+    public JwtClaims get(String token) {
+        String key = hash(token);
+        JwtClaims claims = verified.getIfPresent(key);
+        if (claims == null || claims.isExpired(Instant.now())) {
+            misses.incrementAndGet();
+            return null;
+        }
+        hits.incrementAndGet();
+        return claims;
+    }
+
+    // Remembers a token that has just been verified
+    public void put(String token, JwtClaims claims) {
+        if (claims.getExpiresAt() == null) {
+            return;
+        }
+        verified.put(hash(token), claims);
+    }
+
+    // Drops the cached verification, e.g. when the token is revoked
+    public void invalidate(String token) {
+        verified.invalidate(hash(token));
+    }
+
+    // Drops verifications for tokens that have expired anyway
+    @Scheduled(fixedDelayString = "${auth.token-cache.purge-interval-ms:60000}")
+    public void purgeExpired() {
+        verified.cleanUp();
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("size", verified.estimatedSize());
+        stats.put("hits", hits.get());
+        stats.put("misses", misses.get());
+        return stats;
+    }
+
+    // Each entry lives until its token's exp claim; reads and overwrites do not extend it
+    private static class UntilTokenExpires implements Expiry<String, JwtClaims> {
+        @Override
+        public long expireAfterCreate(String key, JwtClaims claims, long currentTime) {
+            long remaining = Duration.between(Instant.now(), claims.getExpiresAt()).toNanos();
+            return Math.max(0, remaining);
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, JwtClaims claims, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, claims, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, JwtClaims claims, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+
+    private static String hash(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.eventvista.event_vista.service;
+
+import com.eventvista.event_vista.exception.WeatherServiceException;
+import com.eventvista.event_vista.model.dto.WeatherForecast;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+// Non-blocking OpenWeatherMap client used when weather.client.mode=async
+// Requests go through one shared JDK HttpClient, which keeps connections alive and
+// reuses them (multiplexed over a single connection when the server speaks HTTP/2),
+// so a dashboard's lookups do not each pay for a new TCP/TLS handshake or hold a thread
+// Upstream errors are reported with the same exception types RestTemplate throws,
+// so the circuit breaker and callers treat both client modes alike
+@Component
+public class AsyncWeatherApiClient {
+    private final HttpClient httpClient;
+    private final WeatherResponseParser responseParser;
+    private final Duration requestTimeout;
+
+    public AsyncWeatherApiClient(@Qualifier("weatherHttpClient") HttpClient httpClient,
+                                 @Value("${weather.client.request-timeout-ms:5000}") long requestTimeoutMs) {
+        this.httpClient = httpClient;
+        this.responseParser = new WeatherResponseParser();
+        this.requestTimeout = Duration.ofMillis(requestTimeoutMs);
+    }
+
+    // Sends the request and parses the body once it has fully arrived
+    // The returned future completes on one of the HttpClient's own threads
+    public CompletableFuture<WeatherForecast> fetch(URI uri, boolean forecastEndpoint) {
+        HttpRequest request = HttpRequest.newBuilder(uri)
+                .timeout(requestTimeout)
+                .header("Accept", "application/json")
+                .GET()
+                .build();
+        return httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray())
+                .handle((response, error) -> {
+                    if (error != null) {
+                        Throwable cause = error instanceof CompletionException && error.getCause() != null
+                                ? error.getCause() : error;
+                        throw new ResourceAccessException("I/O error on GET request for weather API: " + cause.getMessage(),
+                                cause instanceof IOException ? (IOException) cause : new IOException(cause));
+                    }
+                    return parse(response, forecastEndpoint);
+                });
+    }
+
+    private WeatherForecast parse(HttpResponse<byte[]> response, boolean forecastEndpoint) {
+        HttpStatusCode status = HttpStatusCode.valueOf(response.statusCode());
+        if (status.is4xxClientError()) {
+            throw HttpClientErrorException.create(status, "", null, response.body(), StandardCharsets.UTF_8);
+        }
+        if (status.is5xxServerError()) {
+            throw HttpServerErrorException.create(status, "", null, response.body(), StandardCharsets.UTF_8);
+        }
+        try {
+            ByteArrayInputStream body = new ByteArrayInputStream(response.body());
+            return forecastEndpoint ? responseParser.parseForecast(body) : responseParser.parseCurrent(body);
+        } catch (IOException e) {
+            throw new WeatherServiceException("Error processing weather data response: " + e.getMessage());
+        }
+    }
+}
@@ -1,19 +1,41 @@
 package com.eventvista.event_vista.service;
 
 
+import com.eventvista.event_vista.cache.SharedCache;
+import com.eventvista.event_vista.cache.TwoTierCache;
 import com.eventvista.event_vista.data.CalendarRepository;
 import com.eventvista.event_vista.model.Calendar;
 import com.eventvista.event_vista.model.User;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
 import java.util.Optional;
 
 @Service
 public class CalendarService {
     private final CalendarRepository calendarRepository;
+    // user id -> calendar id, shared across instances; a user's calendar rarely changes
+    private final TwoTierCache<Integer> calendarIds;
 
-    public CalendarService(CalendarRepository calendarRepository) {
+    public CalendarService(CalendarRepository calendarRepository, SharedCache sharedCache,
+                           @Value("${app.cache.calendar-ids.ttl-seconds:3600}") long ttlSeconds,
+                           @Value("${app.cache.calendar-ids.max-entries:10000}") int maxEntries) {
         this.calendarRepository = calendarRepository;
+        this.calendarIds = new TwoTierCache<>("calendar-ids", sharedCache, Integer.class,
+                Duration.ofSeconds(ttlSeconds), Duration.ofSeconds(ttlSeconds), maxEntries);
+    }
+
+    // The user's calendar as a lazy reference, for setting relationships without loading it
+    public Optional<Calendar> findCalendarReferenceByUserId(Integer userId) {
+        Integer calendarId = calendarIds.get(String.valueOf(userId),
+                key -> calendarRepository.findIdByUserId(userId).orElse(null));
+        return Optional.ofNullable(calendarId).map(calendarRepository::getReferenceById);
+    }
+
+    // Drops the cached calendar id on every instance, e.g. when the user is deleted
+    public void evictCalendarId(Integer userId) {
+        calendarIds.invalidate(String.valueOf(userId));
     }
 
     public Optional<Calendar> findCalendarByUser(User user) {
@@ -30,13 +52,16 @@ public class CalendarService {
             throw new RuntimeException("User already has a calendar");
         }
         calendar.setUser(user);
-        return calendarRepository.save(calendar);
+        Calendar saved = calendarRepository.save(calendar);
+        evictCalendarId(user.getId());
+        return saved;
     }
 
     public boolean deleteCalendar(Integer id, User user) {
         Optional<Calendar> calendar = calendarRepository.findByIdAndUser(id, user);
         if (calendar.isPresent()) {
             calendarRepository.delete(calendar.get());
+            evictCalendarId(user.getId());
             return true;
         }
         return false;
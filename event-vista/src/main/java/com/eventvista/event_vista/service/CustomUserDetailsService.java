@@ -29,7 +29,6 @@ public class CustomUserDetailsService implements UserDetailsService {
                 });
 
         System.out.println("Found user: " + user.getEmailAddress());
-        System.out.println("User password hash: " + user.getPasswordHash());
         System.out.println("User email verified: " + user.isEmailVerified());
 
         // Use a placeholder password for OAuth2 users
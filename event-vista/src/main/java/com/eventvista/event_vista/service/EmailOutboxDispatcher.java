@@ -0,0 +1,177 @@
+package com.eventvista.event_vista.service;
+
+import com.eventvista.event_vista.data.EmailOutboxRepository;
+import com.eventvista.event_vista.model.EmailOutbox;
+import com.eventvista.event_vista.model.EmailOutboxStatus;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+// Background job that drains the email outbox in batches
+// In batched mode each batch is sent over a single SMTP connection
+// Failed sends are retried with exponential backoff plus jitter; after max-attempts
+// the message is marked FAILED and left in the table for inspection
+// SENT and FAILED messages are purged hourly once they are retention-hours old
+// Every instance runs the dispatcher; each run claims its batch with a conditional
+// UPDATE (PENDING -> SENDING under a per-run token) and sends only the rows it claimed,
+// so a message is sent by one instance. The claim is a lease until claim-timeout-seconds;
+// if the instance dies mid-batch, the message is claimed again once the lease expires
+@Component
+public class EmailOutboxDispatcher {
+    private static final Logger logger = LoggerFactory.getLogger(EmailOutboxDispatcher.class);
+    private static final Set<EmailOutboxStatus> CLAIMABLE = Set.of(EmailOutboxStatus.PENDING, EmailOutboxStatus.SENDING);
+
+    private final EmailOutboxRepository outboxRepository;
+    private final EmailService emailService;
+
+    @Value("${app.email.outbox.batch-size:50}")
+    private int batchSize;
+
+    @Value("${app.email.outbox.max-attempts:8}")
+    private int maxAttempts;
+
+    @Value("${app.email.outbox.backoff-base-seconds:30}")
+    private long backoffBaseSeconds;
+
+    @Value("${app.email.outbox.backoff-max-seconds:3600}")
+    private long backoffMaxSeconds;
+
+    @Value("${app.email.outbox.batched:true}")
+    private boolean batched;
+
+    @Value("${app.email.outbox.claim-timeout-seconds:300}")
+    private long claimTimeoutSeconds;
+
+    @Value("${app.email.outbox.retention-hours:168}")
+    private long retentionHours;
+
+    public EmailOutboxDispatcher(EmailOutboxRepository outboxRepository, EmailService emailService) {
+        this.outboxRepository = outboxRepository;
+        this.emailService = emailService;
+    }
+
+    @Scheduled(fixedDelayString = "${app.email.outbox.poll-interval-ms:2000}")
+    public void dispatch() {
+        Instant now = Instant.now();
+        List<Integer> due = outboxRepository.findByStatusInAndNextAttemptAtLessThanEqualOrderByNextAttemptAtAsc(
+                CLAIMABLE, now, Limit.of(batchSize)).stream().map(EmailOutbox::getId).toList();
+        if (due.isEmpty()) {
+            return;
+        }
+        // SENDING rows are only due again once their lease has expired
+        String claimToken = UUID.randomUUID().toString();
+        if (outboxRepository.claim(due, CLAIMABLE, now, claimToken,
+                now.plusSeconds(claimTimeoutSeconds)) == 0) {
+            return;
+        }
+        List<EmailOutbox> batch = outboxRepository.findByClaimTokenAndStatus(claimToken, EmailOutboxStatus.SENDING);
+        if (batched) {
+            dispatchBatch(batch);
+        } else {
+            dispatchEach(batch);
+        }
+        outboxRepository.saveAll(batch);
+    }
+
+    // Renders every message first and sends them all over one SMTP connection
+    private void dispatchBatch(List<EmailOutbox> batch) {
+        Map<MimeMessage, EmailOutbox> rendered = new IdentityHashMap<>();
+        List<MimeMessage> messages = new ArrayList<>(batch.size());
+        for (EmailOutbox entry : batch) {
+            try {
+                MimeMessage message = render(entry);
+                rendered.put(message, entry);
+                messages.add(message);
+            } catch (Exception e) {
+                recordFailure(entry, e);
+            }
+        }
+        Map<MimeMessage, Exception> failures = emailService.sendBatch(messages);
+        for (MimeMessage message : messages) {
+            EmailOutbox entry = rendered.get(message);
+            Exception failure = failures.get(message);
+            if (failure == null) {
+                recordSent(entry);
+            } else {
+                recordFailure(entry, failure);
+            }
+        }
+    }
+
+    // One connection per message, as the dispatcher did before batched mode
+    private void dispatchEach(List<EmailOutbox> batch) {
+        for (EmailOutbox entry : batch) {
+            try {
+                Map<MimeMessage, Exception> failures = emailService.sendBatch(List.of(render(entry)));
+                if (failures.isEmpty()) {
+                    recordSent(entry);
+                } else {
+                    recordFailure(entry, failures.values().iterator().next());
+                }
+            } catch (Exception e) {
+                recordFailure(entry, e);
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.email.outbox.purge-interval-ms:3600000}")
+    @Transactional
+    public void purgeFinished() {
+        int purged = outboxRepository.deleteByStatusInAndCreatedAtBefore(
+                Set.of(EmailOutboxStatus.SENT, EmailOutboxStatus.FAILED),
+                Instant.now().minus(Duration.ofHours(retentionHours)));
+        if (purged > 0) {
+            logger.info("Purged {} sent or failed outbox emails", purged);
+        }
+    }
+
+    private MimeMessage render(EmailOutbox entry) throws MessagingException {
+        if (EmailOutbox.VERIFICATION_EMAIL.equals(entry.getType())) {
+            return emailService.createVerificationMessage(entry.getRecipient(), entry.getPayload());
+        }
+        throw new IllegalStateException("Unknown email type: " + entry.getType());
+    }
+
+    private void recordSent(EmailOutbox entry) {
+        entry.setAttempts(entry.getAttempts() + 1);
+        entry.setStatus(EmailOutboxStatus.SENT);
+        entry.setClaimToken(null);
+        entry.setSentAt(Instant.now());
+        entry.setLastError(null);
+    }
+
+    // Backoff doubles with each attempt: base, 2x base, 4x base ... up to the maximum
+    private void recordFailure(EmailOutbox message, Exception e) {
+        int attempt = message.getAttempts() + 1;
+        message.setAttempts(attempt);
+        message.setLastError(e.getMessage());
+        message.setClaimToken(null);
+        if (attempt >= maxAttempts) {
+            message.setStatus(EmailOutboxStatus.FAILED);
+            logger.error("Giving up on {} after {} attempts", message, attempt, e);
+            return;
+        }
+        message.setStatus(EmailOutboxStatus.PENDING);
+        long backoffSeconds = Math.min(backoffMaxSeconds, backoffBaseSeconds << Math.min(attempt - 1, 20));
+        long jitterSeconds = ThreadLocalRandom.current().nextLong(backoffSeconds / 4 + 1);
+        message.setNextAttemptAt(Instant.now().plus(Duration.ofSeconds(backoffSeconds + jitterSeconds)));
+        logger.warn("Failed to send {} (attempt {}), retrying in {}s: {}",
+                message, attempt, backoffSeconds + jitterSeconds, e.getMessage());
+    }
+}
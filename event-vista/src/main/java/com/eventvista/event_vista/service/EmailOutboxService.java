@@ -0,0 +1,24 @@
+package com.eventvista.event_vista.service;
+
+import com.eventvista.event_vista.data.EmailOutboxRepository;
+import com.eventvista.event_vista.model.EmailOutbox;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+// Queues outgoing emails in the email_outbox table
+// Callers run inside their own transaction, so the message is only queued if the
+// change that triggered it is committed, and nothing waits on SMTP
+@Service
+public class EmailOutboxService {
+    private final EmailOutboxRepository outboxRepository;
+
+    public EmailOutboxService(EmailOutboxRepository outboxRepository) {
+        this.outboxRepository = outboxRepository;
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void queueVerificationEmail(String to, String token) {
+        outboxRepository.save(new EmailOutbox(EmailOutbox.VERIFICATION_EMAIL, to, token));
+    }
+}
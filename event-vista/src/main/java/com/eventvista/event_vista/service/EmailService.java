@@ -6,12 +6,18 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.mail.javamail.MimeMessageHelper;
 import org.springframework.stereotype.Service;
 import jakarta.annotation.PostConstruct;
 import org.springframework.mail.javamail.JavaMailSenderImpl;
 
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
 @Service
 public class EmailService {
     private static final Logger logger = LoggerFactory.getLogger(EmailService.class);
@@ -25,6 +31,16 @@ public class EmailService {
     @Value("${app.frontend.baseUrl}")
     private String frontendBaseUrl;
 
+    // Compiled once; only the verification URL changes between emails
+    private static final EmailTemplate VERIFICATION_TEMPLATE = EmailTemplate.compile(
+            "<div style='font-family: Arial, sans-serif; padding: 20px;'>" +
+                    "<h2>Welcome to Event Vista!</h2>" +
+                    "<p>Thank you for registering. Please click the link below to verify your email address:</p>" +
+                    "<p><a href='{{verificationUrl}}'>Verify Email</a></p>" +
+                    "<p>If you did not create an account, please ignore this email.</p>" +
+                    "</div>"
+    );
+
     @PostConstruct
     public void init() {
         if (mailSender instanceof JavaMailSenderImpl) {
@@ -40,32 +56,9 @@ public class EmailService {
 
     public void sendVerificationEmail(String to, String token) throws MessagingException {
         logger.info("Starting email verification process for: {}", to);
-        logger.info("Using frontend base URL: {}", frontendBaseUrl);
-        logger.info("Using from email: {}", fromEmail);
 
         try {
-            logger.debug("Creating MIME message");
-            MimeMessage message = mailSender.createMimeMessage();
-            MimeMessageHelper helper = new MimeMessageHelper(message, true);
-
-            helper.setFrom(fromEmail);
-            helper.setTo(to);
-            helper.setSubject("Please verify your email");
-
-            String verificationUrl = frontendBaseUrl + "/verify-email?token=" + token;
-            String emailContent = String.format(
-                    "<div style='font-family: Arial, sans-serif; padding: 20px;'>" +
-                            "<h2>Welcome to Event Vista!</h2>" +
-                            "<p>Thank you for registering. Please click the link below to verify your email address:</p>" +
-                            "<p><a href='%s'>Verify Email</a></p>" +
-                            "<p>If you did not create an account, please ignore this email.</p>" +
-                            "</div>",
-                    verificationUrl
-            );
-
-            helper.setText(emailContent, true);
-            logger.info("Verification URL generated: {}", verificationUrl);
-
+            MimeMessage message = createVerificationMessage(to, token);
             logger.info("Attempting to send email...");
             mailSender.send(message);
             logger.info("Verification email sent successfully to: {}", to);
@@ -74,4 +67,44 @@ public class EmailService {
             throw new MessagingException("Failed to send verification email: " + e.getMessage(), e);
         }
     }
+
+    // Builds a single-part HTML verification message from the precompiled template
+    public MimeMessage createVerificationMessage(String to, String token) throws MessagingException {
+        MimeMessage message = mailSender.createMimeMessage();
+        MimeMessageHelper helper = new MimeMessageHelper(message, false, "UTF-8");
+
+        helper.setFrom(fromEmail);
+        helper.setTo(to);
+        helper.setSubject("Please verify your email");
+
+        String verificationUrl = frontendBaseUrl + "/verify-email?token=" + token;
+        helper.setText(VERIFICATION_TEMPLATE.render(Map.of("verificationUrl", verificationUrl)), true);
+        return message;
+    }
+
+    // Sends several messages over one SMTP connection: JavaMailSender connects and
+    // authenticates once per call and reuses the transport for every message
+    // Returns the messages that failed, with their exception; empty if all were sent
+    public Map<MimeMessage, Exception> sendBatch(List<MimeMessage> messages) {
+        Map<MimeMessage, Exception> failures = new IdentityHashMap<>();
+        if (messages.isEmpty()) {
+            return failures;
+        }
+        try {
+            mailSender.send(messages.toArray(new MimeMessage[0]));
+        } catch (MailSendException e) {
+            if (e.getFailedMessages().isEmpty()) {
+                messages.forEach(message -> failures.put(message, e));
+            }
+            e.getFailedMessages().forEach((message, cause) -> {
+                if (message instanceof MimeMessage) {
+                    failures.put((MimeMessage) message, cause);
+                }
+            });
+        } catch (MailException e) {
+            // Connection or authentication failure: nothing in the batch was sent
+            messages.forEach(message -> failures.put(message, e));
+        }
+        return failures;
+    }
 }
@@ -0,0 +1,61 @@
+package com.eventvista.event_vista.service;
+
+import org.springframework.web.util.HtmlUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+// Small HTML template with {{name}} placeholders
+// The source is split into literal segments once, when the template is compiled, so
+// rendering is a single StringBuilder pass with no format-string parsing per email
+// Placeholder values are HTML-escaped
+final class EmailTemplate {
+    private final String[] literals;
+    private final String[] placeholders;
+    private final int literalLength;
+
+    private EmailTemplate(String[] literals, String[] placeholders) {
+        this.literals = literals;
+        this.placeholders = placeholders;
+        int length = 0;
+        for (String literal : literals) {
+            length += literal.length();
+        }
+        this.literalLength = length;
+    }
+
+    static EmailTemplate compile(String source) {
+        List<String> literals = new ArrayList<>();
+        List<String> placeholders = new ArrayList<>();
+        int position = 0;
+        while (true) {
+            int start = source.indexOf("{{", position);
+            if (start < 0) {
+                break;
+            }
+            int end = source.indexOf("}}", start + 2);
+            if (end < 0) {
+                throw new IllegalArgumentException("Unclosed placeholder in email template at index " + start);
+            }
+            literals.add(source.substring(position, start));
+            placeholders.add(source.substring(start + 2, end).trim());
+            position = end + 2;
+        }
+        literals.add(source.substring(position));
+        return new EmailTemplate(literals.toArray(new String[0]), placeholders.toArray(new String[0]));
+    }
+
+    String render(Map<String, String> values) {
+        StringBuilder html = new StringBuilder(literalLength + 128 * placeholders.length);
+        for (int i = 0; i < placeholders.length; i++) {
+            html.append(literals[i]);
+            String value = values.get(placeholders[i]);
+            if (value == null) {
+                throw new IllegalArgumentException("Missing value for email template placeholder: " + placeholders[i]);
+            }
+            html.append(HtmlUtils.htmlEscape(value));
+        }
+        return html.append(literals[placeholders.length]).toString();
+    }
+}
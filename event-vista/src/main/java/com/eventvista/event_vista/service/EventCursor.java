@@ -0,0 +1,55 @@
+package com.eventvista.event_vista.service;
+
+import com.eventvista.event_vista.exception.InvalidEventDataException;
+import com.eventvista.event_vista.model.dto.EventSummaryDTO;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+// Continuation token for the paged event listing: the (date, time, id) of the last
+// event on a page, base64url-encoded so clients treat it as opaque
+final class EventCursor {
+    private final LocalDate date;
+    private final LocalTime time;
+    private final Integer id;
+
+    private EventCursor(LocalDate date, LocalTime time, Integer id) {
+        this.date = date;
+        this.time = time;
+        this.id = id;
+    }
+
+    static String encode(EventSummaryDTO last) {
+        String raw = last.getDate() + "|" + last.getTime() + "|" + last.getId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    // Throws InvalidEventDataException for a token this class did not produce
+    static EventCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|");
+            if (parts.length != 3) {
+                throw new InvalidEventDataException("Invalid cursor");
+            }
+            return new EventCursor(LocalDate.parse(parts[0]), LocalTime.parse(parts[1]), Integer.valueOf(parts[2]));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new InvalidEventDataException("Invalid cursor");
+        }
+    }
+
+    LocalDate getDate() {
+        return date;
+    }
+
+    LocalTime getTime() {
+        return time;
+    }
+
+    Integer getId() {
+        return id;
+    }
+}
@@ -3,9 +3,13 @@ package com.eventvista.event_vista.service;
 import com.eventvista.event_vista.data.EventRepository;
 import com.eventvista.event_vista.model.Event;
 import com.eventvista.event_vista.model.User;
+import com.eventvista.event_vista.model.dto.EventPageDTO;
+import com.eventvista.event_vista.model.dto.EventSummaryDTO;
 import com.eventvista.event_vista.model.dto.UpcomingEventDTO;
 import com.eventvista.event_vista.exception.EventNotFoundException;
 import com.eventvista.event_vista.exception.InvalidEventDataException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -22,6 +26,9 @@ public class EventService {
     private final CalendarService calendarService;
     private final WeatherService weatherService;
 
+    @Value("${app.events.upcoming.limit:10}")
+    private int upcomingLimit;
+
     public EventService(EventRepository eventRepository, VenueService venueService,
                         CalendarService calendarService, WeatherService weatherService) {
         this.eventRepository = eventRepository;
@@ -33,7 +40,27 @@ public class EventService {
     // Retrieves all events associated with a specific user.
 // Returns List of events belonging to the user, may be empty if no events exist
     public List<Event> findAllEvents(User user) {
-        return eventRepository.findAllByUser(user);
+        return eventRepository.findAllByUserOrderByDateAscTimeAscIdAsc(user);
+    }
+
+    // Retrieves one page of event summaries ordered by date, time and id.
+// Pass the previous page's nextCursor to continue; null starts from the beginning.
+// Throws InvalidEventDataException if the cursor is not one this service produced
+    public EventPageDTO findEventPage(User user, String cursor, int size) {
+        // One extra row tells whether another page follows
+        Limit limit = Limit.of(size + 1);
+        List<EventSummaryDTO> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = eventRepository.findSummaryPage(user, limit);
+        } else {
+            EventCursor after = EventCursor.decode(cursor);
+            rows = eventRepository.findSummaryPageAfter(user, after.getDate(), after.getTime(), after.getId(), limit);
+        }
+        if (rows.size() <= size) {
+            return new EventPageDTO(rows, null);
+        }
+        List<EventSummaryDTO> page = rows.subList(0, size);
+        return new EventPageDTO(page, EventCursor.encode(page.get(size - 1)));
     }
 
 
@@ -96,8 +123,8 @@ public class EventService {
             event.setVenue(null);
         }
 
-        // Set the user's calendar automatically
-        calendarService.findCalendarByUser(user)
+        // Set the user's calendar automatically; its id is cached, so no calendar query
+        calendarService.findCalendarReferenceByUserId(user.getId())
                 .ifPresent(event::setCalendar);
 
         return eventRepository.save(event);
@@ -149,13 +176,13 @@ public class EventService {
     }
 
 
-    // Retrieves all upcoming events for a given user.
+    // Retrieves the next upcoming events for a given user, soonest first.
 // Events are considered upcoming if their date and time are in the future.
-// Return List of upcoming events, may be empty if no upcoming events exist
+// Return List of at most app.events.upcoming.limit events, may be empty if no upcoming events exist
     public List<Event> findUpcomingEventsByUser(User user) {
         LocalDate currentDate = LocalDate.now();
         LocalTime currentTime = LocalTime.now();
-        return eventRepository.findUpcomingEvents(user, currentDate, currentTime);
+        return eventRepository.findUpcomingEvents(user, currentDate, currentTime, Limit.of(upcomingLimit));
     }
 
 
@@ -221,33 +248,18 @@ public class EventService {
         return eventRepository.save(newEvent);
     }
 
-    //sorts events chronologically by date and time
-    private int compareEventsByDateTime(Event e1, Event e2) {
-        // First compare dates
-        int dateComparison = e1.getDate().compareTo(e2.getDate());
-        if (dateComparison != 0) {
-            return dateComparison;
-        }
-        // If dates are equal, compare times
-        return e1.getTime().compareTo(e2.getTime());
-    }
-
-
-    // Gets events between today and 5 days from now for a given user
-    // Sorts them chronologically by date and time
+    // Gets the first events between today and 5 days from now for a given user,
+    // already in chronological order, capped at app.events.upcoming.limit
     // Enriches each event with weather data from OWM API
     // Returns List of upcoming events with weather data, may be empty if no upcoming events exist
     // Events without venues will have null weather data.
     public List<UpcomingEventDTO> findUpcomingEventsWithWeather(User user) {
         LocalDate currentDate = LocalDate.now();
         LocalDate fiveDaysFromNow = currentDate.plusDays(5);
-        LocalTime currentTime = LocalTime.now();
-
-        // Get events between today and 5 days from now
-        List<Event> events = eventRepository.findByDateBetweenAndUser(currentDate, fiveDaysFromNow, user);
 
-        // Sort events by date and time
-        events.sort(this::compareEventsByDateTime);
+        // Get the first events between today and 5 days from now, sorted by date and time
+        List<Event> events = eventRepository.findByDateBetweenAndUserOrderByDateAscTimeAscIdAsc(
+                currentDate, fiveDaysFromNow, user, Limit.of(upcomingLimit));
 
         // Pass events to WeatherService for enrichment
         return weatherService.enrichEventsWithWeather(events);
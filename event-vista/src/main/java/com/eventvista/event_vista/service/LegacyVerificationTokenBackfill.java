@@ -0,0 +1,69 @@
+package com.eventvista.event_vista.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+// Carries verification links sent before tokens moved to the verification_token table
+// ddl-auto=update leaves the old user.verification_token and
+// user.verification_token_expiry_date columns in place; on startup any unverified
+// user's token still held there is copied into verification_token and the old
+// columns are cleared, so later startups find nothing to copy
+// Expired tokens are copied too, so their links report "expired" rather than
+// "invalid" and the user is pointed at resend-verification
+@Component
+public class LegacyVerificationTokenBackfill {
+    private static final Logger logger = LoggerFactory.getLogger(LegacyVerificationTokenBackfill.class);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    public LegacyVerificationTokenBackfill(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        if (!hasLegacyColumns()) {
+            return;
+        }
+        try {
+            Integer copied = transactionTemplate.execute(status -> {
+                int inserted = jdbcTemplate.update(
+                        "INSERT INTO verification_token (token, user_id, expires_at) "
+                                + "SELECT u.verification_token, u.id, COALESCE(u.verification_token_expiry_date, CURRENT_TIMESTAMP) "
+                                + "FROM user u "
+                                + "WHERE u.verification_token IS NOT NULL AND u.email_verified = FALSE "
+                                + "AND NOT EXISTS (SELECT 1 FROM verification_token t WHERE t.token = u.verification_token)");
+                jdbcTemplate.update("UPDATE user SET verification_token = NULL, verification_token_expiry_date = NULL "
+                        + "WHERE verification_token IS NOT NULL");
+                return inserted;
+            });
+            if (copied != null && copied > 0) {
+                logger.info("Copied {} verification tokens from the user table", copied);
+            }
+        } catch (DataAccessException e) {
+            logger.warn("Failed to copy verification tokens from the user table: {}", e.getMessage());
+        }
+    }
+
+    // Probed outside the backfill transaction; databases created after the move
+    // never had the columns
+    private boolean hasLegacyColumns() {
+        try {
+            jdbcTemplate.queryForObject(
+                    "SELECT COUNT(*) FROM user WHERE verification_token IS NOT NULL "
+                            + "AND verification_token_expiry_date IS NULL", Integer.class);
+            return true;
+        } catch (DataAccessException e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package com.eventvista.event_vista.service;
+
+import com.eventvista.event_vista.data.UserRepository;
+import com.eventvista.event_vista.exception.PasswordHashingOverloadedException;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// Runs BCrypt hashing and verification on a small dedicated pool with a bounded queue
+// A login storm can then only keep this many cores busy with BCrypt; once the queue
+// is full further requests are rejected at once (503) instead of tying up request
+// threads, and requests that wait too long in the queue are given up on
+@Service
+public class PasswordHashingService {
+    // Cost field of a prefixed BCrypt hash, e.g. {bcrypt}$2a$12$...
+    private static final Pattern BCRYPT_COST = Pattern.compile("^\\{bcrypt}\\$2[abxy]?\\$(\\d{2})\\$");
+
+    private final PasswordEncoder passwordEncoder;
+    private final UserRepository userRepository;
+    private final ThreadPoolExecutor executor;
+    private final int queueCapacity;
+    private final long timeoutMs;
+    private final int bcryptStrength;
+
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong timedOut = new AtomicLong();
+    private final AtomicLong rehashed = new AtomicLong();
+    private final AtomicLong rehashSkipped = new AtomicLong();
+
+    public PasswordHashingService(PasswordEncoder passwordEncoder, UserRepository userRepository,
+                                  @Value("${auth.hashing.threads:2}") int threads,
+                                  @Value("${auth.hashing.queue-capacity:16}") int queueCapacity,
+                                  @Value("${auth.hashing.timeout-ms:3000}") long timeoutMs,
+                                  @Value("${auth.password.bcrypt-strength:10}") int bcryptStrength) {
+        this.passwordEncoder = passwordEncoder;
+        this.userRepository = userRepository;
+        this.queueCapacity = queueCapacity;
+        this.timeoutMs = timeoutMs;
+        this.bcryptStrength = bcryptStrength;
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hashing-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    // Verifies a password against its stored hash; accounts without a password
+    // (OAuth2 users) never match and are not queued
+    public boolean matches(String rawPassword, String passwordHash) {
+        if (rawPassword == null || passwordHash == null || passwordHash.isEmpty()) {
+            return false;
+        }
+        return run(() -> passwordEncoder.matches(rawPassword, passwordHash));
+    }
+
+    public String encode(String rawPassword) {
+        return run(() -> passwordEncoder.encode(rawPassword));
+    }
+
+    // Called after a successful login: if the stored hash uses an older algorithm or
+    // a different cost than configured, a new hash is computed in the background and
+    // swapped in only if the stored hash is still the one that was verified
+    // Skipped (and retried on a later login) when the hashing pool is busy
+    public void rehashIfNeeded(Integer userId, String rawPassword, String passwordHash) {
+        if (userId == null || passwordHash == null || !needsRehash(passwordHash)) {
+            return;
+        }
+        if (executor.getQueue().remainingCapacity() <= queueCapacity / 2) {
+            rehashSkipped.incrementAndGet();
+            return;
+        }
+        try {
+            executor.execute(() -> {
+                String upgradedHash = passwordEncoder.encode(rawPassword);
+                if (userRepository.updatePasswordHashIfUnchanged(userId, passwordHash, upgradedHash) > 0) {
+                    rehashed.incrementAndGet();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            rehashSkipped.incrementAndGet();
+        }
+    }
+
+    // The encoder's upgradeEncoding covers unprefixed hashes and costs below the target,
+    // but BCryptPasswordEncoder never reports a higher cost as outdated; comparing the
+    // cost directly also brings hashes down when the target cost is lowered
+    private boolean needsRehash(String passwordHash) {
+        if (passwordEncoder.upgradeEncoding(passwordHash)) {
+            return true;
+        }
+        Matcher cost = BCRYPT_COST.matcher(passwordHash);
+        return cost.find() && Integer.parseInt(cost.group(1)) != bcryptStrength;
+    }
+
+    // Pool size, queue depth and rejection counters
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("threads", executor.getPoolSize());
+        stats.put("active", executor.getActiveCount());
+        stats.put("queueDepth", executor.getQueue().size());
+        stats.put("queueCapacity", queueCapacity);
+        stats.put("completed", executor.getCompletedTaskCount());
+        stats.put("rejected", rejected.get());
+        stats.put("timedOut", timedOut.get());
+        stats.put("rehashed", rehashed.get());
+        stats.put("rehashSkipped", rehashSkipped.get());
+        return stats;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private <T> T run(Callable<T> task) {
+        Future<T> future;
+        try {
+            future = executor.submit(task);
+        } catch (RejectedExecutionException e) {
+            rejected.incrementAndGet();
+            throw new PasswordHashingOverloadedException("Too many sign-in requests are being processed. Please try again shortly.");
+        }
+        try {
+            return future.get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            timedOut.incrementAndGet();
+            throw new PasswordHashingOverloadedException("Too many sign-in requests are being processed. Please try again shortly.");
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new PasswordHashingOverloadedException("Password hashing was interrupted. Please try again.");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.eventvista.event_vista.service;
+
+import com.eventvista.event_vista.cache.SharedCache;
+import com.eventvista.event_vista.cache.TwoTierCache;
+import com.eventvista.event_vista.data.UserRepository;
+import com.eventvista.event_vista.security.CustomUserPrincipal;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+// Cache from email address to the authenticated principal snapshot
+// The JWT filter resolves every authenticated request through this cache, so a
+// user's row is read once per TTL instead of on every API call
+// Principals are kept in a local tier and in the cache shared by all instances, so a
+// user loaded by one instance is not loaded again by the others
+// Entries are evicted on every instance when the user's profile, password or account changes
+// Users whose email is listed in app.admin.emails are loaded as administrators; a change
+// to the list reaches cached principals once their entries expire
+@Component
+public class UserPrincipalCache {
+    private final UserRepository userRepository;
+    private final TwoTierCache<CustomUserPrincipal> principals;
+    private final Set<String> adminEmails;
+
+    public UserPrincipalCache(UserRepository userRepository, SharedCache sharedCache,
+                              @Value("${auth.principal-cache.ttl-seconds:300}") long ttlSeconds,
+                              @Value("${auth.principal-cache.shared-ttl-seconds:900}") long sharedTtlSeconds,
+                              @Value("${auth.principal-cache.max-entries:10000}") int maxEntries,
+                              @Value("${app.admin.emails:}") List<String> adminEmails) {
+        this.userRepository = userRepository;
+        this.adminEmails = adminEmails.stream()
+                .map(email -> email.trim().toLowerCase(Locale.ROOT))
+                .filter(email -> !email.isEmpty())
+                .collect(Collectors.toUnmodifiableSet());
+        this.principals = new TwoTierCache<>("principals", sharedCache, CustomUserPrincipal.class,
+                Duration.ofSeconds(ttlSeconds), Duration.ofSeconds(sharedTtlSeconds), maxEntries);
+    }
+
+    // Returns the cached principal for the email, loading it from the database on a miss
+    // Throws UsernameNotFoundException if no user has that email address
+    public CustomUserPrincipal getPrincipal(String emailAddress) {
+        CustomUserPrincipal principal = principals.get(emailAddress, email -> userRepository.findByEmailAddress(email)
+                .map(user -> new CustomUserPrincipal(user.getId(), user.getEmailAddress(), user.getName(),
+                        isAdmin(user.getEmailAddress())))
+                .orElse(null));
+        if (principal == null) {
+            throw new UsernameNotFoundException("User not found with email: " + emailAddress);
+        }
+        return principal;
+    }
+
+    private boolean isAdmin(String emailAddress) {
+        return emailAddress != null && adminEmails.contains(emailAddress.toLowerCase(Locale.ROOT));
+    }
+
+    public void evict(String emailAddress) {
+        principals.invalidate(emailAddress);
+    }
+
+    public Map<String, Object> getStats() {
+        return principals.getStats();
+    }
+}
@@ -3,13 +3,19 @@ package com.eventvista.event_vista.service;
 import com.eventvista.event_vista.model.User;
 import com.eventvista.event_vista.model.dto.UserProfileDTO;
 
+import java.time.Duration;
 import java.util.Optional;
 
 public interface UserService {
     Optional<User> findByEmailAddress(String emailAddress);
+    Optional<User> findById(Integer id);
+    User getReferenceById(Integer id);
     User save(User user);
+    User saveWithVerificationEmail(User user, Duration tokenValidFor);
     boolean existsByEmailAddress(String emailAddress);
     void updateUser(User user);
 
     User updateUserProfile(String email, UserProfileDTO dto);
+
+    void deleteUser(User user);
 }
@@ -4,8 +4,10 @@ import com.eventvista.event_vista.model.Calendar;
 import com.eventvista.event_vista.model.User;
 import com.eventvista.event_vista.data.UserRepository;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import com.eventvista.event_vista.model.dto.UserProfileDTO;
 
+import java.time.Duration;
 import java.util.Optional;
 
 @Service
@@ -14,10 +16,21 @@ public class UserServiceImpl implements UserService {
     private final UserRepository userRepository;
     // assign a default calendar when a new user registers
     private final CalendarService calendarService;
+    // cached principals are evicted whenever a user changes
+    private final UserPrincipalCache principalCache;
+    // verification emails are queued in the outbox with the user change
+    private final EmailOutboxService emailOutboxService;
+    // verification tokens live in their own table
+    private final VerificationTokenService verificationTokenService;
 
-    public UserServiceImpl(UserRepository userRepository, CalendarService calendarService) {
+    public UserServiceImpl(UserRepository userRepository, CalendarService calendarService,
+                           UserPrincipalCache principalCache, EmailOutboxService emailOutboxService,
+                           VerificationTokenService verificationTokenService) {
         this.userRepository = userRepository;
         this.calendarService = calendarService;
+        this.principalCache = principalCache;
+        this.emailOutboxService = emailOutboxService;
+        this.verificationTokenService = verificationTokenService;
     }
 
     @Override
@@ -25,10 +38,22 @@ public class UserServiceImpl implements UserService {
         return userRepository.findByEmailAddress(emailAddress);
     }
 
+    @Override
+    public Optional<User> findById(Integer id) {
+        return userRepository.findById(id);
+    }
+
+    // Returns a lazy reference for the user id without querying the user table
+    @Override
+    public User getReferenceById(Integer id) {
+        return userRepository.getReferenceById(id);
+    }
+
     @Override
     public User save(User user) {
         // Save the user in database first
         User savedUser = userRepository.save(user);
+        principalCache.evict(savedUser.getEmailAddress());
 
         // Create and save a calendar for the user if they don't have one
         if (savedUser.getCalendar() == null) {
@@ -40,6 +65,18 @@ public class UserServiceImpl implements UserService {
         return savedUser;
     }
 
+    // Saves the user, issues a new verification token and queues the email carrying it
+    // in one transaction, so either all happen or none do; the email is sent later
+    @Override
+    @Transactional
+    public User saveWithVerificationEmail(User user, Duration tokenValidFor) {
+        User savedUser = userRepository.save(user);
+        principalCache.evict(savedUser.getEmailAddress());
+        String token = verificationTokenService.issue(savedUser, tokenValidFor);
+        emailOutboxService.queueVerificationEmail(savedUser.getEmailAddress(), token);
+        return savedUser;
+    }
+
     @Override
     public boolean existsByEmailAddress(String emailAddress) {
         return userRepository.existsByEmailAddress(emailAddress);
@@ -47,6 +84,7 @@ public class UserServiceImpl implements UserService {
 
     public void updateUser(User user) {
         userRepository.save(user);
+        principalCache.evict(user.getEmailAddress());
     }
 
     @Override
@@ -67,7 +105,19 @@ public class UserServiceImpl implements UserService {
 //        String pictureUrl = dto.getPictureUrl() != null && dto.getPictureUrl().trim().isEmpty() ? null : dto.getPictureUrl();
 //        user.setPictureUrl(pictureUrl);
 
-        return userRepository.save(user);
+        User savedUser = userRepository.save(user);
+        // Evicted after the save on every instance, under the old and the new address
+        principalCache.evict(email);
+        principalCache.evict(dto.getEmailAddress());
+        return savedUser;
+    }
+
+    // Deletes the user and drops their cached principal and calendar id on every instance
+    @Override
+    public void deleteUser(User user) {
+        userRepository.delete(user);
+        principalCache.evict(user.getEmailAddress());
+        calendarService.evictCalendarId(user.getId());
     }
 }
 
@@ -0,0 +1,93 @@
+package com.eventvista.event_vista.service;
+
+import com.eventvista.event_vista.data.UserRepository;
+import com.eventvista.event_vista.data.VerificationTokenRepository;
+import com.eventvista.event_vista.model.User;
+import com.eventvista.event_vista.model.VerificationToken;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+
+// Issues and checks email verification tokens stored in the verification_token table
+// Every check is a single primary-key lookup, whether the token is new, used or unknown
+@Service
+public class VerificationTokenService {
+    private static final Logger logger = LoggerFactory.getLogger(VerificationTokenService.class);
+
+    public enum Result {
+        VERIFIED,
+        ALREADY_VERIFIED,
+        EXPIRED,
+        INVALID
+    }
+
+    private final VerificationTokenRepository tokenRepository;
+    private final UserRepository userRepository;
+    private final UserPrincipalCache principalCache;
+
+    // Expired tokens are kept this long before being purged, so a late click on a
+    // used link still gets "already verified" rather than "invalid"
+    @Value("${app.email.verification.token.retention-hours:24}")
+    private long retentionHours;
+
+    public VerificationTokenService(VerificationTokenRepository tokenRepository, UserRepository userRepository,
+                                    UserPrincipalCache principalCache) {
+        this.tokenRepository = tokenRepository;
+        this.userRepository = userRepository;
+        this.principalCache = principalCache;
+    }
+
+    // Replaces any unused token for the user with a new one; runs in the caller's
+    // transaction so the token is only stored together with the email that carries it
+    @Transactional(propagation = Propagation.MANDATORY)
+    public String issue(User user, Duration validFor) {
+        tokenRepository.deleteUnconsumedByUserId(user.getId());
+        String token = UUID.randomUUID().toString();
+        tokenRepository.save(new VerificationToken(token, user, LocalDateTime.now().plus(validFor)));
+        return token;
+    }
+
+    @Transactional
+    public Result verify(String token) {
+        Optional<VerificationToken> found = tokenRepository.findWithUser(token);
+        if (found.isEmpty()) {
+            return Result.INVALID;
+        }
+        VerificationToken verificationToken = found.get();
+        if (verificationToken.isConsumed()) {
+            return Result.ALREADY_VERIFIED;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        if (verificationToken.isExpired(now)) {
+            return Result.EXPIRED;
+        }
+
+        verificationToken.setConsumedAt(now);
+        User user = verificationToken.getUser();
+        if (user.isEmailVerified()) {
+            return Result.ALREADY_VERIFIED;
+        }
+        user.setEmailVerified(true);
+        userRepository.save(user);
+        principalCache.evict(user.getEmailAddress());
+        return Result.VERIFIED;
+    }
+
+    @Scheduled(fixedDelayString = "${app.email.verification.token.purge-interval-ms:3600000}")
+    @Transactional
+    public void purgeExpired() {
+        int purged = tokenRepository.deleteExpiredBefore(LocalDateTime.now().minusHours(retentionHours));
+        if (purged > 0) {
+            logger.info("Purged {} expired verification tokens", purged);
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.eventvista.event_vista.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Client-side budget for outbound OpenWeatherMap calls
+// A token bucket refilled continuously at calls-per-minute smooths bursts, and a
+// per-day counter (reset at UTC midnight, like the OWM quota) caps the total
+// Callers that cannot get a permit are expected to fall back to cached data
+@Component
+public class WeatherApiRateLimiter {
+    private static final double NANOS_PER_MINUTE = 60_000_000_000d;
+
+    private final int callsPerMinute;
+    private final long callsPerDay;
+
+    private double availableTokens;
+    private long lastRefillNanos;
+    private LocalDate quotaDay;
+    private long callsToday;
+    private long rejectedCalls;
+
+    public WeatherApiRateLimiter(@Value("${weather.api.calls-per-minute:50}") int callsPerMinute,
+                                 @Value("${weather.api.calls-per-day:1000}") long callsPerDay) {
+        this.callsPerMinute = callsPerMinute;
+        this.callsPerDay = callsPerDay;
+        this.availableTokens = callsPerMinute;
+        this.lastRefillNanos = System.nanoTime();
+        this.quotaDay = LocalDate.now(ZoneOffset.UTC);
+    }
+
+    // Takes one permit for an upstream call, or returns false if either budget is spent
+    public synchronized boolean tryAcquire() {
+        refill();
+        if (callsToday >= callsPerDay || availableTokens < 1) {
+            rejectedCalls++;
+            return false;
+        }
+        availableTokens -= 1;
+        callsToday++;
+        return true;
+    }
+
+    public synchronized Map<String, Object> getStats() {
+        refill();
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("callsPerMinute", callsPerMinute);
+        stats.put("availableTokens", (long) availableTokens);
+        stats.put("callsPerDay", callsPerDay);
+        stats.put("callsToday", callsToday);
+        stats.put("dailyBudgetUsedPercent", callsPerDay > 0 ? callsToday * 100 / callsPerDay : 100);
+        stats.put("rejectedCalls", rejectedCalls);
+        return stats;
+    }
+
+    private void refill() {
+        long now = System.nanoTime();
+        availableTokens = Math.min(callsPerMinute,
+                availableTokens + (now - lastRefillNanos) * callsPerMinute / NANOS_PER_MINUTE);
+        lastRefillNanos = now;
+
+        LocalDate today = LocalDate.now(ZoneOffset.UTC);
+        if (!today.equals(quotaDay)) {
+            quotaDay = today;
+            callsToday = 0;
+        }
+    }
+}
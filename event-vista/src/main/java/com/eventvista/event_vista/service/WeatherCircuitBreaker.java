@@ -0,0 +1,105 @@
+package com.eventvista.event_vista.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Circuit breaker around outbound OpenWeatherMap calls
+// CLOSED: calls go through; after failure-threshold consecutive failures it opens
+// OPEN: calls are rejected immediately instead of waiting out the RestTemplate timeout
+// HALF_OPEN: once open-seconds have passed a single probe call is let through;
+// success closes the circuit again, failure re-opens it
+@Component
+public class WeatherCircuitBreaker {
+    private static final Logger logger = LoggerFactory.getLogger(WeatherCircuitBreaker.class);
+
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    private final int failureThreshold;
+    private final Duration openDuration;
+
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private Instant openedAt;
+    private boolean probeInFlight;
+
+    private long rejectedCalls;
+    private final Map<State, Long> transitions = new EnumMap<>(State.class);
+
+    public WeatherCircuitBreaker(@Value("${weather.circuit.failure-threshold:5}") int failureThreshold,
+                                 @Value("${weather.circuit.open-seconds:30}") long openSeconds) {
+        this.failureThreshold = failureThreshold;
+        this.openDuration = Duration.ofSeconds(openSeconds);
+    }
+
+    // Returns true if a call may go upstream now
+    // In HALF_OPEN only the caller that gets the probe slot is allowed through
+    public synchronized boolean allowRequest() {
+        if (state == State.OPEN && !Instant.now().isBefore(openedAt.plus(openDuration))) {
+            transitionTo(State.HALF_OPEN);
+        }
+        if (state == State.CLOSED) {
+            return true;
+        }
+        if (state == State.HALF_OPEN && !probeInFlight) {
+            probeInFlight = true;
+            return true;
+        }
+        rejectedCalls++;
+        return false;
+    }
+
+    public synchronized void recordSuccess() {
+        consecutiveFailures = 0;
+        probeInFlight = false;
+        if (state != State.CLOSED) {
+            transitionTo(State.CLOSED);
+        }
+    }
+
+    public synchronized void recordFailure() {
+        consecutiveFailures++;
+        probeInFlight = false;
+        if (state == State.HALF_OPEN || (state == State.CLOSED && consecutiveFailures >= failureThreshold)) {
+            openedAt = Instant.now();
+            transitionTo(State.OPEN);
+        }
+    }
+
+    // Gives back a permit from allowRequest() when the call was never made
+    public synchronized void releasePermit() {
+        probeInFlight = false;
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+
+    public synchronized Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("state", state);
+        stats.put("consecutiveFailures", consecutiveFailures);
+        stats.put("rejectedCalls", rejectedCalls);
+        Map<String, Long> transitionCounts = new LinkedHashMap<>();
+        for (State target : State.values()) {
+            transitionCounts.put("to" + target, transitions.getOrDefault(target, 0L));
+        }
+        stats.put("transitions", transitionCounts);
+        return stats;
+    }
+
+    private void transitionTo(State next) {
+        logger.info("Weather API circuit {} -> {}", state, next);
+        state = next;
+        transitions.merge(next, 1L, Long::sum);
+    }
+}
@@ -0,0 +1,163 @@
+package com.eventvista.event_vista.service;
+
+import com.eventvista.event_vista.model.dto.WeatherForecast;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+// In-memory cache of parsed OWM responses keyed by location and endpoint
+// One forecast response covers five days, so every event at the same venue
+// location is answered from a single upstream call until the entry expires
+// Expired entries are kept for a while longer as a stale fallback for when
+// the upstream call budget is exhausted, and are evicted after that
+@Component
+public class WeatherForecastCache {
+    private final Map<String, WeatherForecast> entries = new ConcurrentHashMap<>();
+    private final Duration ttl;
+    private final Duration staleTtl;
+    private final int maxEntries;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final AtomicLong staleServed = new AtomicLong();
+
+    public WeatherForecastCache(@Value("${weather.cache.ttl-minutes:30}") long ttlMinutes,
+                                @Value("${weather.cache.stale-ttl-minutes:360}") long staleTtlMinutes,
+                                @Value("${weather.cache.max-entries:500}") int maxEntries) {
+        this.ttl = Duration.ofMinutes(ttlMinutes);
+        this.staleTtl = Duration.ofMinutes(Math.max(ttlMinutes, staleTtlMinutes));
+        this.maxEntries = maxEntries;
+    }
+
+    // Returns the cached forecast if it is still within its TTL, otherwise null
+    // Entries past the stale window are evicted on read
+    public WeatherForecast get(String location, String endpoint) {
+        String key = key(location, endpoint);
+        WeatherForecast forecast = entries.get(key);
+        if (forecast == null) {
+            misses.incrementAndGet();
+            return null;
+        }
+        Instant now = Instant.now();
+        if (isExpired(forecast, now)) {
+            if (isPastStaleWindow(forecast, now) && entries.remove(key, forecast)) {
+                evictions.incrementAndGet();
+            }
+            misses.incrementAndGet();
+            return null;
+        }
+        hits.incrementAndGet();
+        return forecast;
+    }
+
+    // Returns the cached forecast even if its TTL has elapsed, as long as it is
+    // still inside the stale window; null if there is nothing usable
+    // Does not count towards staleServed, since the caller may still reject the entry
+    public WeatherForecast getStale(String location, String endpoint) {
+        WeatherForecast forecast = entries.get(key(location, endpoint));
+        if (forecast == null || isPastStaleWindow(forecast, Instant.now())) {
+            return null;
+        }
+        return forecast;
+    }
+
+    // Called once a stale entry from getStale is actually returned to a caller
+    public void recordStaleServed() {
+        staleServed.incrementAndGet();
+    }
+
+    // True if the entry exists and will still be within its TTL after the given margin
+    // Used by the prefetch job, so it does not count towards hits or misses
+    public boolean isFresh(String location, String endpoint, Duration margin) {
+        WeatherForecast forecast = entries.get(key(location, endpoint));
+        return forecast != null && !isExpired(forecast, Instant.now().plus(margin));
+    }
+
+    // Stores a freshly fetched forecast, making room first if the cache is full
+    public void put(String location, String endpoint, WeatherForecast forecast) {
+        if (entries.size() >= maxEntries) {
+            evictExpired();
+            if (entries.size() >= maxEntries) {
+                evictOldest();
+            }
+        }
+        entries.put(key(location, endpoint), forecast);
+    }
+
+    // Loads a previously persisted forecast, keeping its original fetch timestamp
+    // so the TTL still applies; an entry already in the cache wins if it is newer
+    // Returns false if the forecast is past the stale window or was superseded
+    public boolean restore(String location, String endpoint, WeatherForecast forecast) {
+        if (isPastStaleWindow(forecast, Instant.now()) || entries.size() >= maxEntries) {
+            return false;
+        }
+        String key = key(location, endpoint);
+        WeatherForecast current = entries.merge(key, forecast,
+                (existing, restored) -> existing.getFetchedAt().isBefore(restored.getFetchedAt()) ? restored : existing);
+        return current == forecast;
+    }
+
+    // Oldest fetch time that is still inside the stale window
+    public Instant staleCutoff() {
+        return Instant.now().minus(staleTtl);
+    }
+
+    public void evict(String location, String endpoint) {
+        if (entries.remove(key(location, endpoint)) != null) {
+            evictions.incrementAndGet();
+        }
+    }
+
+    // Removes every entry that is past its stale window
+    public void evictExpired() {
+        Instant now = Instant.now();
+        entries.entrySet().removeIf(entry -> {
+            boolean expired = isPastStaleWindow(entry.getValue(), now);
+            if (expired) {
+                evictions.incrementAndGet();
+            }
+            return expired;
+        });
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("size", entries.size());
+        stats.put("hits", hits.get());
+        stats.put("misses", misses.get());
+        stats.put("evictions", evictions.get());
+        stats.put("staleServed", staleServed.get());
+        return stats;
+    }
+
+    private void evictOldest() {
+        entries.entrySet().stream()
+                .min(Map.Entry.comparingByValue((a, b) -> a.getFetchedAt().compareTo(b.getFetchedAt())))
+                .ifPresent(oldest -> {
+                    if (entries.remove(oldest.getKey(), oldest.getValue())) {
+                        evictions.incrementAndGet();
+                    }
+                });
+    }
+
+    private boolean isExpired(WeatherForecast forecast, Instant now) {
+        return forecast.getFetchedAt().plus(ttl).isBefore(now);
+    }
+
+    private boolean isPastStaleWindow(WeatherForecast forecast, Instant now) {
+        return forecast.getFetchedAt().plus(staleTtl).isBefore(now);
+    }
+
+    // Locations are matched case-insensitively so "Boston" and "boston " share an entry
+    static String key(String location, String endpoint) {
+        return location.trim().toLowerCase(Locale.ROOT) + "|" + endpoint;
+    }
+}
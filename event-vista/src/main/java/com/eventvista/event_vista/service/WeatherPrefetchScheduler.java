@@ -0,0 +1,109 @@
+package com.eventvista.event_vista.service;
+
+import com.eventvista.event_vista.data.EventRepository;
+import com.eventvista.event_vista.exception.WeatherRateLimitException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+// Background job that keeps the forecast cache warm for venues with upcoming events
+// Each run looks up the distinct venue locations with events in the forecast window
+// and refreshes their cached series before it expires, so the dashboard's
+// /api/events/upcoming-events request is normally served from memory
+// Nothing is scheduled when no weather API key is configured
+@Component
+public class WeatherPrefetchScheduler implements SchedulingConfigurer {
+    private static final Logger logger = LoggerFactory.getLogger(WeatherPrefetchScheduler.class);
+
+    private final EventRepository eventRepository;
+    private final WeatherService weatherService;
+
+    @Value("${weather.prefetch.enabled:true}")
+    private boolean enabled;
+
+    @Value("${weather.prefetch.interval-minutes:20}")
+    private long intervalMinutes;
+
+    @Value("${weather.prefetch.jitter-seconds:120}")
+    private long jitterSeconds;
+
+    @Value("${weather.prefetch.max-calls-per-run:50}")
+    private int maxCallsPerRun;
+
+    public WeatherPrefetchScheduler(EventRepository eventRepository, WeatherService weatherService) {
+        this.eventRepository = eventRepository;
+        this.weatherService = weatherService;
+    }
+
+    // Schedules runs at the configured interval plus a random jitter, so several
+    // instances (or a restart storm) do not all hit the weather API at the same moment
+    @Override
+    public void configureTasks(ScheduledTaskRegistrar taskRegistrar) {
+        if (!enabled) {
+            return;
+        }
+        if (!weatherService.isApiKeyConfigured()) {
+            logger.info("Weather API key is not configured, weather prefetch is disabled");
+            return;
+        }
+        taskRegistrar.addTriggerTask(this::prefetch, triggerContext -> {
+            Instant lastCompletion = triggerContext.lastCompletion();
+            Instant base = lastCompletion != null
+                    ? lastCompletion.plus(Duration.ofMinutes(intervalMinutes))
+                    : Instant.now();
+            return base.plusSeconds(ThreadLocalRandom.current().nextLong(jitterSeconds + 1));
+        });
+    }
+
+    // Refreshes current conditions for locations with events today and the 5-day
+    // forecast for locations with events later in the window
+    // Stops once the per-run call budget or the global API budget is spent
+    public void prefetch() {
+        if (!weatherService.isApiKeyConfigured()) {
+            return;
+        }
+        LocalDate today = LocalDate.now();
+        // Anything that would expire before the next run is refreshed now
+        Duration margin = Duration.ofMinutes(intervalMinutes).plusSeconds(jitterSeconds);
+
+        int budget = maxCallsPerRun;
+        budget = refresh(eventRepository.findDistinctVenueLocationsByDateBetween(today, today),
+                today, margin, budget);
+        budget = refresh(eventRepository.findDistinctVenueLocationsByDateBetween(today.plusDays(1), today.plusDays(5)),
+                today.plusDays(1), margin, budget);
+
+        logger.info("Weather prefetch finished: {} upstream calls, budget {}", maxCallsPerRun - budget, maxCallsPerRun);
+    }
+
+    private int refresh(List<String> locations, LocalDate date, Duration margin, int budget) {
+        for (String location : locations) {
+            if (budget <= 0) {
+                logger.warn("Weather prefetch call budget exhausted, remaining locations will load on demand");
+                return budget;
+            }
+            try {
+                if (weatherService.prefetchForecast(location, date, margin)) {
+                    budget--;
+                }
+            } catch (WeatherRateLimitException e) {
+                // The global API budget is shared with user requests, so stop here
+                logger.warn("Weather API budget exhausted, stopping prefetch run");
+                return 0;
+            } catch (Exception e) {
+                // A failed call still used part of the budget
+                budget--;
+                logger.warn("Weather prefetch failed for location {}: {}", location, e.getMessage());
+            }
+        }
+        return budget;
+    }
+}
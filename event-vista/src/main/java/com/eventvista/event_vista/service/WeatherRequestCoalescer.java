@@ -0,0 +1,103 @@
+package com.eventvista.event_vista.service;
+
+import com.eventvista.event_vista.exception.WeatherServiceException;
+import com.eventvista.event_vista.model.dto.WeatherForecast;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+// Single-flight guard for upstream weather calls
+// While a call for a (location, endpoint) pair is running, other threads asking
+// for the same pair wait on its result instead of issuing their own request
+@Component
+public class WeatherRequestCoalescer {
+    private final Map<String, CompletableFuture<WeatherForecast>> inFlight = new ConcurrentHashMap<>();
+
+    private final AtomicLong upstreamCalls = new AtomicLong();
+    private final AtomicLong coalescedCalls = new AtomicLong();
+
+    // Runs the upstream call unless one for the same key is already in flight,
+    // in which case the caller shares that call's result or exception
+    public WeatherForecast execute(String location, String endpoint, Supplier<WeatherForecast> upstreamCall) {
+        String key = WeatherForecastCache.key(location, endpoint);
+        CompletableFuture<WeatherForecast> call = new CompletableFuture<>();
+        CompletableFuture<WeatherForecast> existing = inFlight.putIfAbsent(key, call);
+        if (existing != null) {
+            coalescedCalls.incrementAndGet();
+            return await(existing);
+        }
+
+        upstreamCalls.incrementAndGet();
+        try {
+            WeatherForecast forecast = upstreamCall.get();
+            call.complete(forecast);
+            return forecast;
+        } catch (RuntimeException e) {
+            call.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, call);
+        }
+    }
+
+    // Async variant of execute: the upstream call returns a future and the key stays
+    // in flight until it completes; blocking and async callers share the same entries
+    public CompletableFuture<WeatherForecast> executeAsync(String location, String endpoint,
+                                                           Supplier<CompletableFuture<WeatherForecast>> upstreamCall) {
+        String key = WeatherForecastCache.key(location, endpoint);
+        CompletableFuture<WeatherForecast> call = new CompletableFuture<>();
+        CompletableFuture<WeatherForecast> existing = inFlight.putIfAbsent(key, call);
+        if (existing != null) {
+            coalescedCalls.incrementAndGet();
+            return existing;
+        }
+
+        upstreamCalls.incrementAndGet();
+        CompletableFuture<WeatherForecast> upstream;
+        try {
+            upstream = upstreamCall.get();
+        } catch (RuntimeException e) {
+            upstream = CompletableFuture.failedFuture(e);
+        }
+        upstream.whenComplete((forecast, error) -> {
+            inFlight.remove(key, call);
+            if (error != null) {
+                call.completeExceptionally(error instanceof CompletionException && error.getCause() != null
+                        ? error.getCause() : error);
+            } else {
+                call.complete(forecast);
+            }
+        });
+        return call;
+    }
+
+    public boolean isInFlight(String location, String endpoint) {
+        return inFlight.containsKey(WeatherForecastCache.key(location, endpoint));
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("inFlight", inFlight.size());
+        stats.put("upstreamCalls", upstreamCalls.get());
+        stats.put("coalescedCalls", coalescedCalls.get());
+        return stats;
+    }
+
+    // Rethrows the leader's exception as-is so callers see the same errors as before
+    WeatherForecast await(CompletableFuture<WeatherForecast> call) {
+        try {
+            return call.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new WeatherServiceException("Error retrieving weather data: " + e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package com.eventvista.event_vista.service;
+
+import com.eventvista.event_vista.exception.WeatherServiceException;
+import com.eventvista.event_vista.model.dto.WeatherForecast;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Arrays;
+
+// Streaming parser for OpenWeatherMap "weather" and "forecast" responses
+// Reads the body token by token and keeps only dt, main.temp and weather[0]
+// (icon and description); every other field is skipped without being materialized
+public class WeatherResponseParser {
+    private static final long SECONDS_PER_DAY = 86_400L;
+
+    private final JsonFactory jsonFactory;
+
+    public WeatherResponseParser() {
+        this(new JsonFactory());
+    }
+
+    public WeatherResponseParser(JsonFactory jsonFactory) {
+        this.jsonFactory = jsonFactory;
+    }
+
+    // Parses a /forecast body into one slot per entry of its "list" array
+    // Slot dates come from "dt", which OWM reports in UTC like "dt_txt"
+    public WeatherForecast parseForecast(InputStream body) throws IOException {
+        try (JsonParser parser = jsonFactory.createParser(body)) {
+            expectToken(parser.nextToken(), JsonToken.START_OBJECT);
+            SlotBuffer slots = new SlotBuffer(40);
+
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                if ("list".equals(field) && value == JsonToken.START_ARRAY) {
+                    while (parser.nextToken() == JsonToken.START_OBJECT) {
+                        Slot slot = readSlot(parser);
+                        slots.add(Math.floorDiv(slot.dt, SECONDS_PER_DAY), slot);
+                    }
+                } else {
+                    parser.skipChildren();
+                }
+            }
+            return slots.toForecast(Instant.now());
+        }
+    }
+
+    // Parses a /weather body (current conditions) into a single slot for today
+    public WeatherForecast parseCurrent(InputStream body) throws IOException {
+        try (JsonParser parser = jsonFactory.createParser(body)) {
+            expectToken(parser.nextToken(), JsonToken.START_OBJECT);
+            SlotBuffer slots = new SlotBuffer(1);
+            slots.add(LocalDate.now().toEpochDay(), readSlot(parser));
+            return slots.toForecast(Instant.now());
+        }
+    }
+
+    // Reads one forecast entry; the parser is positioned on its START_OBJECT
+    private Slot readSlot(JsonParser parser) throws IOException {
+        Slot slot = new Slot();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            if ("dt".equals(field) && value == JsonToken.VALUE_NUMBER_INT) {
+                slot.dt = parser.getLongValue();
+            } else if ("main".equals(field) && value == JsonToken.START_OBJECT) {
+                readMain(parser, slot);
+            } else if ("weather".equals(field) && value == JsonToken.START_ARRAY) {
+                readFirstCondition(parser, slot);
+            } else {
+                parser.skipChildren();
+            }
+        }
+        if (!slot.hasTemperature || slot.icon == null) {
+            throw new WeatherServiceException("Error extracting weather data from API response: missing temperature or conditions");
+        }
+        return slot;
+    }
+
+    private void readMain(JsonParser parser, Slot slot) throws IOException {
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            if ("temp".equals(field) && value.isNumeric()) {
+                slot.temperature = parser.getDoubleValue();
+                slot.hasTemperature = true;
+            } else {
+                parser.skipChildren();
+            }
+        }
+    }
+
+    // Only the first element of "weather" is used; the rest of the array is skipped
+    private void readFirstCondition(JsonParser parser, Slot slot) throws IOException {
+        if (parser.nextToken() == JsonToken.START_OBJECT) {
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                parser.nextToken();
+                if ("icon".equals(field)) {
+                    slot.icon = parser.getValueAsString();
+                } else if ("description".equals(field)) {
+                    slot.description = parser.getValueAsString();
+                } else {
+                    parser.skipChildren();
+                }
+            }
+            while (parser.nextToken() != JsonToken.END_ARRAY) {
+                parser.skipChildren();
+            }
+        }
+    }
+
+    private void expectToken(JsonToken actual, JsonToken expected) {
+        if (actual != expected) {
+            throw new WeatherServiceException("Error processing weather data response: expected " + expected + " but found " + actual);
+        }
+    }
+
+    private static class Slot {
+        private long dt;
+        private double temperature;
+        private boolean hasTemperature;
+        private String icon;
+        private String description;
+    }
+
+    // Growable column buffers, trimmed to size when the forecast is built
+    private static class SlotBuffer {
+        private long[] epochDays;
+        private double[] temperatures;
+        private String[] icons;
+        private String[] descriptions;
+        private int size;
+
+        private SlotBuffer(int capacity) {
+            epochDays = new long[capacity];
+            temperatures = new double[capacity];
+            icons = new String[capacity];
+            descriptions = new String[capacity];
+        }
+
+        private void add(long epochDay, Slot slot) {
+            if (size == epochDays.length) {
+                int capacity = Math.max(1, size * 2);
+                epochDays = Arrays.copyOf(epochDays, capacity);
+                temperatures = Arrays.copyOf(temperatures, capacity);
+                icons = Arrays.copyOf(icons, capacity);
+                descriptions = Arrays.copyOf(descriptions, capacity);
+            }
+            epochDays[size] = epochDay;
+            temperatures[size] = slot.temperature;
+            icons[size] = slot.icon;
+            descriptions[size] = slot.description != null ? slot.description : "";
+            size++;
+        }
+
+        private WeatherForecast toForecast(Instant fetchedAt) {
+            if (size != epochDays.length) {
+                epochDays = Arrays.copyOf(epochDays, size);
+                temperatures = Arrays.copyOf(temperatures, size);
+                icons = Arrays.copyOf(icons, size);
+                descriptions = Arrays.copyOf(descriptions, size);
+            }
+            return new WeatherForecast(fetchedAt, epochDays, temperatures, icons, descriptions);
+        }
+    }
+}
@@ -1,30 +1,61 @@
 package com.eventvista.event_vista.service;
 
+import com.eventvista.event_vista.exception.WeatherCircuitOpenException;
+import com.eventvista.event_vista.exception.WeatherRateLimitException;
 import com.eventvista.event_vista.exception.WeatherServiceException;
 import com.eventvista.event_vista.model.dto.WeatherData;
+import com.eventvista.event_vista.model.dto.WeatherForecast;
 import com.eventvista.event_vista.model.dto.UpcomingEventDTO;
 import com.eventvista.event_vista.model.Event;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.util.StringUtils;
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.web.util.UriComponentsBuilder;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import com.fasterxml.jackson.core.JsonProcessingException;
 
+import java.net.URI;
+import java.time.Duration;
 import java.time.LocalDate;
-import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
 import java.time.temporal.ChronoUnit;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.stream.Collectors;
 import java.util.Optional;
 
 @Service
 public class WeatherService {
+    private static final Logger logger = LoggerFactory.getLogger(WeatherService.class);
+
+    private static final String CURRENT_ENDPOINT = "weather";
+    private static final String FORECAST_ENDPOINT = "forecast";
+
     private final RestTemplate restTemplate;
-    private final ObjectMapper objectMapper;
+    private final AsyncWeatherApiClient asyncApiClient;
+    private final WeatherResponseParser responseParser;
+    private final WeatherForecastCache forecastCache;
+    private final WeatherRequestCoalescer requestCoalescer;
+    private final WeatherApiRateLimiter rateLimiter;
+    private final WeatherCircuitBreaker circuitBreaker;
+    private final WeatherSnapshotStore snapshotStore;
+    private final ExecutorService weatherExecutor;
 
     @Value("${weather.api.key}")
     private String apiKey;
@@ -32,18 +63,87 @@ public class WeatherService {
     @Value("${weather.api.url}")
     private String weatherApiUrl;
 
-    public WeatherService(RestTemplate restTemplate) {
+    @Value("${weather.client.mode:blocking}")
+    private String clientMode;
+
+    @Value("${weather.enrichment.parallel:true}")
+    private boolean parallelEnrichment;
+
+    @Value("${weather.enrichment.timeout-ms:3000}")
+    private long enrichmentTimeoutMs;
+
+    public WeatherService(RestTemplate restTemplate, AsyncWeatherApiClient asyncApiClient,
+                          WeatherForecastCache forecastCache,
+                          WeatherRequestCoalescer requestCoalescer, WeatherApiRateLimiter rateLimiter,
+                          WeatherCircuitBreaker circuitBreaker, WeatherSnapshotStore snapshotStore,
+                          @Qualifier("weatherExecutor") ExecutorService weatherExecutor) {
         this.restTemplate = restTemplate;
-        this.objectMapper = new ObjectMapper();
+        this.asyncApiClient = asyncApiClient;
+        this.responseParser = new WeatherResponseParser();
+        this.forecastCache = forecastCache;
+        this.requestCoalescer = requestCoalescer;
+        this.rateLimiter = rateLimiter;
+        this.circuitBreaker = circuitBreaker;
+        this.snapshotStore = snapshotStore;
+        this.weatherExecutor = weatherExecutor;
     }
 
     // Main method to get weather data for a specific location and date
     // Handles both current weather and forecasts up to 5 days in advance
     public WeatherData getWeatherData(String location, LocalDate eventDate) {
+        return lookupForecast(location, eventDate)
+                .findForDate(eventDate)
+                .orElseThrow(() -> new WeatherServiceException("No forecast available for the specified date"));
+    }
+
+    // Non-blocking variant of getWeatherData
+    // Cache hits complete immediately; misses complete when the upstream call does
+    public CompletableFuture<WeatherData> getWeatherDataAsync(String location, LocalDate eventDate) {
+        return lookupForecastAsync(location, eventDate)
+                .thenApply(forecast -> forecast.findForDate(eventDate)
+                        .orElseThrow(() -> new WeatherServiceException("No forecast available for the specified date")));
+    }
+
+    // Validates the request and returns the parsed series covering the given date
+    private WeatherForecast lookupForecast(String location, LocalDate eventDate) {
         validateInputs(location, eventDate);
         validateApiKey();
         validateDateRange(eventDate);
-        return fetchWeatherData(location, eventDate);
+        return loadForecast(location, endpointFor(eventDate), eventDate);
+    }
+
+    private CompletableFuture<WeatherForecast> lookupForecastAsync(String location, LocalDate eventDate) {
+        try {
+            validateInputs(location, eventDate);
+            validateApiKey();
+            validateDateRange(eventDate);
+        } catch (WeatherServiceException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        String endpoint = endpointFor(eventDate);
+        WeatherForecast cached = cachedForecast(location, endpoint, eventDate);
+        return cached != null ? CompletableFuture.completedFuture(cached) : fetchAndCacheAsync(location, endpoint);
+    }
+
+    // The async client is used when weather.client.mode=async
+    private boolean isAsyncClient() {
+        return "async".equalsIgnoreCase(clientMode);
+    }
+
+    // Today uses current conditions, later dates use the 5-day forecast
+    private String endpointFor(LocalDate eventDate) {
+        return eventDate.equals(LocalDate.now()) ? CURRENT_ENDPOINT : FORECAST_ENDPOINT;
+    }
+
+    // Counters for the forecast cache, coalesced upstream calls, the API call budget
+    // and the circuit breaker
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("cache", forecastCache.getStats());
+        stats.put("coalescing", requestCoalescer.getStats());
+        stats.put("rateLimit", rateLimiter.getStats());
+        stats.put("circuitBreaker", circuitBreaker.getStats());
+        return stats;
     }
 
     // Validates that location and date parameters are not null or empty
@@ -56,13 +156,22 @@ public class WeatherService {
         }
     }
 
+    public boolean isApiKeyConfigured() {
+        return StringUtils.hasText(apiKey);
+    }
+
     // Ensures the weather API key is properly configured
     private void validateApiKey() {
-        if (!StringUtils.hasText(apiKey)) {
+        if (!isApiKeyConfigured()) {
             throw new WeatherServiceException("Weather API key is not configured");
         }
     }
 
+    private boolean isWithinForecastWindow(LocalDate eventDate) {
+        long daysBetween = ChronoUnit.DAYS.between(LocalDate.now(), eventDate);
+        return daysBetween >= 0 && daysBetween <= 5;
+    }
+
     // Validates that the requested date is within the allowed range (today to 5 days ahead)
     private void validateDateRange(LocalDate eventDate) {
         LocalDate today = LocalDate.now();
@@ -76,57 +185,199 @@ public class WeatherService {
         }
     }
 
-    // Fetches weather data from the API, handling both current weather and forecasts
-    // Uses different endpoints based on whether the date is today or in the future
-    private WeatherData fetchWeatherData(String location, LocalDate targetDate) {
-        String endpoint = targetDate.equals(LocalDate.now()) ? "weather" : "forecast";
-        String url = String.format("%s/data/2.5/%s?q=%s&appid=%s&units=imperial",
-                weatherApiUrl, endpoint, location, apiKey);
+    // Returns the parsed series for a location, using the cached copy while it is fresh
+    // Current conditions are only good for the day they were fetched, so a cached
+    // "weather" entry from before midnight is refreshed rather than served
+    // Stale-while-revalidate: an expired copy still inside the stale window is served
+    // at once, flagged as stale, while a background refresh replaces it. This also
+    // covers the circuit being open or the call budget being spent
+    private WeatherForecast loadForecast(String location, String endpoint, LocalDate targetDate) {
+        WeatherForecast cached = cachedForecast(location, endpoint, targetDate);
+        return cached != null ? cached : fetchAndCache(location, endpoint);
+    }
 
-        String response = restTemplate.getForObject(url, String.class);
-        try {
-            JsonNode root = objectMapper.readTree(response);
-
-            if (endpoint.equals("forecast")) {
-                JsonNode list = root.path("list");
-                DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
-
-                for (JsonNode forecast : list) {
-                    LocalDateTime forecastDateTime = LocalDateTime.parse(
-                            forecast.path("dt_txt").asText(),
-                            formatter
-                    );
-                    if (forecastDateTime.toLocalDate().equals(targetDate)) {
-                        return extractWeatherData(forecast);
-                    }
-                }
-                throw new WeatherServiceException("No forecast available for the specified date");
+    // Returns the fresh cached series, or the stale one while a refresh is started,
+    // or null if neither covers the date and an upstream call is needed
+    private WeatherForecast cachedForecast(String location, String endpoint, LocalDate targetDate) {
+        WeatherForecast cached = forecastCache.get(location, endpoint);
+        if (covers(cached, endpoint, targetDate)) {
+            return cached;
+        }
+        WeatherForecast stale = forecastCache.getStale(location, endpoint);
+        if (covers(stale, endpoint, targetDate)) {
+            forecastCache.recordStaleServed();
+            refreshInBackground(location, endpoint);
+            return stale.asStale();
+        }
+        return null;
+    }
+
+    private boolean covers(WeatherForecast forecast, String endpoint, LocalDate targetDate) {
+        return forecast != null
+                && (endpoint.equals(FORECAST_ENDPOINT) || forecast.findForDate(targetDate).isPresent());
+    }
+
+    // Starts a refresh on the weather executor (or the async client) unless one is
+    // already running for the key
+    private void refreshInBackground(String location, String endpoint) {
+        if (requestCoalescer.isInFlight(location, endpoint)) {
+            return;
+        }
+        CompletableFuture<?> refresh = isAsyncClient()
+                ? fetchAndCacheAsync(location, endpoint)
+                : CompletableFuture.runAsync(() -> fetchAndCache(location, endpoint), weatherExecutor);
+        refresh.exceptionally(e -> {
+                    logger.debug("Background weather refresh failed for {}: {}", location, e.getMessage());
+                    return null;
+                });
+    }
+
+    // Refreshes the cached series for a location ahead of user requests
+    // Locations whose cached entry stays fresh for longer than the given margin are skipped
+    // Returns true if an upstream call was made
+    public boolean prefetchForecast(String location, LocalDate date, Duration margin) {
+        validateInputs(location, date);
+        validateApiKey();
+        validateDateRange(date);
+
+        String endpoint = endpointFor(date);
+        if (forecastCache.isFresh(location, endpoint, margin)) {
+            return false;
+        }
+        fetchAndCache(location, endpoint);
+        return true;
+    }
+
+    // Concurrent misses for the same location share one upstream call; the result
+    // is cached before the call is released so late arrivals hit the cache instead,
+    // and written through to the snapshot store so it survives a restart
+    // Every upstream call needs the circuit breaker to be closed (or a probe slot)
+    // and a permit from the rate limiter
+    // In async client mode blocking callers wait on the async call instead
+    private WeatherForecast fetchAndCache(String location, String endpoint) {
+        if (isAsyncClient()) {
+            return requestCoalescer.await(fetchAndCacheAsync(location, endpoint));
+        }
+        return requestCoalescer.execute(location, endpoint, () -> {
+            acquirePermits();
+            WeatherForecast fetched;
+            try {
+                fetched = fetchForecast(location, endpoint);
+            } catch (RuntimeException e) {
+                recordOutcome(e);
+                throw e;
             }
+            recordOutcome(null);
+            return store(location, endpoint, fetched);
+        });
+    }
+
+    // Same as fetchAndCache, but the upstream call goes through the async client
+    // and no thread waits on the response
+    private CompletableFuture<WeatherForecast> fetchAndCacheAsync(String location, String endpoint) {
+        return requestCoalescer.executeAsync(location, endpoint, () -> {
+            acquirePermits();
+            return asyncApiClient.fetch(forecastUri(location, endpoint), endpoint.equals(FORECAST_ENDPOINT))
+                    .whenComplete((fetched, error) -> recordOutcome(error))
+                    .thenApply(fetched -> store(location, endpoint, fetched));
+        });
+    }
 
-            return extractWeatherData(root);
-        } catch (JsonProcessingException e) {
-            throw new WeatherServiceException("Error processing weather data response: " + e.getMessage());
+    private void acquirePermits() {
+        if (!circuitBreaker.allowRequest()) {
+            throw new WeatherCircuitOpenException("Weather service is temporarily unavailable. Please try again later.");
+        }
+        if (!rateLimiter.tryAcquire()) {
+            circuitBreaker.releasePermit();
+            throw new WeatherRateLimitException("Weather API call budget exhausted. Please try again later.");
         }
     }
 
-    // Extracts relevant weather information from the API response
-    // Creates a WeatherData object with icon, temperature, and description
-    private WeatherData extractWeatherData(JsonNode weatherNode) {
-        try {
-            JsonNode weather = weatherNode.path("weather").get(0);
-            return new WeatherData(
-                    weather.path("icon").asText(),
-                    String.format("%.1f°F", weatherNode.path("main").path("temp").asDouble()),
-                    weather.path("description").asText()
-            );
-        } catch (Exception e) {
-            throw new WeatherServiceException("Error extracting weather data from API response: " + e.getMessage(), e);
+    private WeatherForecast store(String location, String endpoint, WeatherForecast fetched) {
+        forecastCache.put(location, endpoint, fetched);
+        snapshotStore.saveAsync(location, endpoint, fetched);
+        return fetched;
+    }
+
+    // Timeouts, connection errors, 5xx and 429 responses count as upstream failures
+    // Other client errors (unknown city, bad request) mean the API itself is healthy
+    private void recordOutcome(Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        if (cause instanceof ResourceAccessException || cause instanceof HttpServerErrorException
+                || cause instanceof HttpClientErrorException.TooManyRequests) {
+            circuitBreaker.recordFailure();
+        } else {
+            circuitBreaker.recordSuccess();
         }
     }
 
+    // Fetches weather data from the API, handling both current weather and forecasts
+    // The response body is streamed straight into the parser, which keeps only the
+    // fields the dashboard needs from every entry of the 5-day/3-hour series
+    private WeatherForecast fetchForecast(String location, String endpoint) {
+        String url = forecastUrl(location, endpoint);
+
+        WeatherForecast forecast = restTemplate.execute(url, HttpMethod.GET,
+                request -> request.getHeaders().setAccept(List.of(MediaType.APPLICATION_JSON)),
+                response -> {
+                    try {
+                        return endpoint.equals(FORECAST_ENDPOINT)
+                                ? responseParser.parseForecast(response.getBody())
+                                : responseParser.parseCurrent(response.getBody());
+                    } catch (JsonProcessingException e) {
+                        throw new WeatherServiceException("Error processing weather data response: " + e.getMessage());
+                    }
+                });
+        if (forecast == null) {
+            throw new WeatherServiceException("Error processing weather data response: empty body");
+        }
+        return forecast;
+    }
+
+    private String forecastUrl(String location, String endpoint) {
+        return String.format("%s/data/2.5/%s?q=%s&appid=%s&units=imperial",
+                weatherApiUrl, endpoint, location, apiKey);
+    }
+
+    // Encoded the same way RestTemplate expands a URL string
+    private URI forecastUri(String location, String endpoint) {
+        return UriComponentsBuilder.fromUriString(forecastUrl(location, endpoint)).build().encode().toUri();
+    }
+
     // Enriches a list of events with weather data
     // Handles missing venues and weather data errors gracefully
+    // In parallel mode every distinct venue location is looked up once on the weather
+    // executor (or through the async client, without holding a thread per lookup)
+    // and the whole batch shares one deadline; locations that miss it get null
     public List<UpcomingEventDTO> enrichEventsWithWeather(List<Event> events) {
+        if (!parallelEnrichment) {
+            return enrichEventsSequentially(events);
+        }
+
+        // Fan out one lookup per distinct location and endpoint
+        Map<String, CompletableFuture<WeatherForecast>> lookups = new HashMap<>();
+        for (Event event : events) {
+            String location = venueLocation(event);
+            LocalDate date = event.getDate();
+            if (location == null || date == null || !isWithinForecastWindow(date)) {
+                continue;
+            }
+            lookups.computeIfAbsent(WeatherForecastCache.key(location, endpointFor(date)),
+                    key -> isAsyncClient()
+                            ? lookupForecastAsync(location, date)
+                            : CompletableFuture.supplyAsync(() -> lookupForecast(location, date), weatherExecutor));
+        }
+
+        awaitLookups(lookups.values());
+
+        // Build the DTOs in the caller's order from whichever lookups finished in time
+        return events.stream()
+                .map(event -> new UpcomingEventDTO(event, completedWeather(lookups, event)))
+                .collect(Collectors.toList());
+    }
+
+    // Original one-call-at-a-time enrichment, used when parallel mode is switched off
+    private List<UpcomingEventDTO> enrichEventsSequentially(List<Event> events) {
         return events.stream()
                 .map(event -> {
                     // Try to get weather data for the event's venue location
@@ -145,4 +396,41 @@ public class WeatherService {
                 })
                 .collect(Collectors.toList());
     }
-}
\ No newline at end of file
+
+    // Waits for all lookups until the enrichment deadline passes
+    // Lookups still running afterwards are left to finish and warm the cache
+    private void awaitLookups(Collection<CompletableFuture<WeatherForecast>> lookups) {
+        if (lookups.isEmpty()) {
+            return;
+        }
+        try {
+            CompletableFuture.allOf(lookups.toArray(new CompletableFuture<?>[0]))
+                    .get(enrichmentTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | TimeoutException e) {
+            // Individual failures and late locations are handled per event below
+        }
+    }
+
+    // Returns the weather for an event if its location's lookup completed successfully
+    private WeatherData completedWeather(Map<String, CompletableFuture<WeatherForecast>> lookups, Event event) {
+        String location = venueLocation(event);
+        if (location == null || event.getDate() == null) {
+            return null;
+        }
+        CompletableFuture<WeatherForecast> lookup =
+                lookups.get(WeatherForecastCache.key(location, endpointFor(event.getDate())));
+        if (lookup == null || !lookup.isDone() || lookup.isCompletedExceptionally()) {
+            return null;
+        }
+        return lookup.join().findForDate(event.getDate()).orElse(null);
+    }
+
+    private String venueLocation(Event event) {
+        if (event.getVenue() == null || !StringUtils.hasText(event.getVenue().getLocation())) {
+            return null;
+        }
+        return event.getVenue().getLocation();
+    }
+}
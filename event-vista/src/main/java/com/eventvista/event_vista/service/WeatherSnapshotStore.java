@@ -0,0 +1,123 @@
+package com.eventvista.event_vista.service;
+
+import com.eventvista.event_vista.data.WeatherSnapshotRepository;
+import com.eventvista.event_vista.model.WeatherSnapshot;
+import com.eventvista.event_vista.model.dto.WeatherForecast;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+
+// Persists parsed forecasts to the weather_snapshot table and reloads them into
+// the forecast cache on startup, so a restart or redeploy does not send every
+// dashboard load to the upstream API at once
+// Writes happen on the weather executor so the request path never waits on the database
+@Component
+public class WeatherSnapshotStore {
+    private static final Logger logger = LoggerFactory.getLogger(WeatherSnapshotStore.class);
+
+    private final WeatherSnapshotRepository snapshotRepository;
+    private final WeatherForecastCache forecastCache;
+    private final ExecutorService weatherExecutor;
+
+    @Value("${weather.snapshot.enabled:true}")
+    private boolean enabled;
+
+    public WeatherSnapshotStore(WeatherSnapshotRepository snapshotRepository,
+                                WeatherForecastCache forecastCache,
+                                @Qualifier("weatherExecutor") ExecutorService weatherExecutor) {
+        this.snapshotRepository = snapshotRepository;
+        this.forecastCache = forecastCache;
+        this.weatherExecutor = weatherExecutor;
+    }
+
+    // Queues a write-through of a freshly fetched forecast
+    public void saveAsync(String location, String endpoint, WeatherForecast forecast) {
+        if (!enabled) {
+            return;
+        }
+        try {
+            weatherExecutor.execute(() -> save(location, endpoint, forecast));
+        } catch (RejectedExecutionException e) {
+            logger.debug("Skipping weather snapshot for {}: executor is shut down", location);
+        }
+    }
+
+    // Inserts or replaces the snapshot for the location and endpoint
+    // A concurrent insert for the same key loses on the unique constraint, which is
+    // fine because both writers hold an equally fresh forecast
+    void save(String location, String endpoint, WeatherForecast forecast) {
+        try {
+            String cacheKey = WeatherForecastCache.key(location, endpoint);
+            WeatherSnapshot snapshot = snapshotRepository.findByCacheKey(cacheKey)
+                    .orElseGet(() -> new WeatherSnapshot(cacheKey, location, endpoint));
+            if (snapshot.getFetchedAt() != null && snapshot.getFetchedAt().isAfter(forecast.getFetchedAt())) {
+                return;
+            }
+            snapshot.setLocation(location);
+            snapshot.setFetchedAt(forecast.getFetchedAt());
+            snapshot.setPayload(encode(forecast));
+            snapshotRepository.save(snapshot);
+        } catch (DataIntegrityViolationException e) {
+            logger.debug("Weather snapshot for {} was written concurrently", location);
+        } catch (Exception e) {
+            logger.warn("Failed to persist weather snapshot for {}: {}", location, e.getMessage());
+        }
+    }
+
+    // Warms the cache from the snapshots still inside the stale window and
+    // removes the ones that are too old to ever be served again
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void loadIntoCache() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            long purged = snapshotRepository.deleteByFetchedAtBefore(forecastCache.staleCutoff());
+            List<WeatherSnapshot> snapshots = snapshotRepository.findAllByFetchedAtAfter(forecastCache.staleCutoff());
+            int restored = 0;
+            for (WeatherSnapshot snapshot : snapshots) {
+                try {
+                    WeatherForecast forecast = decode(snapshot);
+                    if (forecastCache.restore(snapshot.getLocation(), snapshot.getEndpoint(), forecast)) {
+                        restored++;
+                    }
+                } catch (IOException e) {
+                    logger.warn("Skipping unreadable weather snapshot {}: {}", snapshot.getCacheKey(), e.getMessage());
+                }
+            }
+            logger.info("Restored {} weather forecasts from snapshots ({} expired snapshots purged)", restored, purged);
+        } catch (Exception e) {
+            logger.warn("Failed to load weather snapshots: {}", e.getMessage());
+        }
+    }
+
+    private static byte[] encode(WeatherForecast forecast) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64 + forecast.size() * 48);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            forecast.writeTo(out);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static WeatherForecast decode(WeatherSnapshot snapshot) throws IOException {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(snapshot.getPayload()))) {
+            return WeatherForecast.readFrom(snapshot.getFetchedAt(), in);
+        }
+    }
+}
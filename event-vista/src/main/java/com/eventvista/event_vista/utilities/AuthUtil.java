@@ -15,23 +15,50 @@ public class AuthUtil {
         this.userService = userService;
     }
 
+    // Returns the authenticated user as an uninitialized reference; only getId() is safe
+    // Reading any other property loads the row, and outside an open session throws
+    // LazyInitializationException, so callers that need user fields (or serialize the
+    // user) must use getLoadedUserFromAuthentication instead
     public User getUserFromAuthentication() {
+        return userService.getReferenceById(getUserIdFromAuthentication());
+    }
+
+    // The authenticated user's id; the JWT filter puts it on the principal, so no query is run
+    public Integer getUserIdFromAuthentication() {
+        Object principal = getPrincipal();
+        if (principal instanceof CustomUserPrincipal) {
+            return ((CustomUserPrincipal) principal).getUserId();
+        }
+        return findByUsername(principal).getId();
+    }
+
+    // Returns the authenticated user with its row loaded, for callers that read user fields
+    public User getLoadedUserFromAuthentication() {
+        Object principal = getPrincipal();
+        if (principal instanceof CustomUserPrincipal) {
+            Integer userId = ((CustomUserPrincipal) principal).getUserId();
+            return userService.findById(userId)
+                    .orElseThrow(() -> new RuntimeException("User not found with id: " + userId));
+        }
+        return findByUsername(principal);
+    }
+
+    private Object getPrincipal() {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
 
         if (authentication == null || authentication.getPrincipal() == null) {
             throw new RuntimeException("No authentication info found.");
         }
 
-        Object principal = authentication.getPrincipal();
+        return authentication.getPrincipal();
+    }
 
-        if(principal instanceof CustomUserPrincipal) {
-            return ((CustomUserPrincipal) principal).getUser();
-        } else if (principal instanceof org.springframework.security.core.userdetails.User) {
+    private User findByUsername(Object principal) {
+        if (principal instanceof org.springframework.security.core.userdetails.User) {
             String email = ((org.springframework.security.core.userdetails.User) principal).getUsername();
             return userService.findByEmailAddress(email)
                     .orElseThrow(() -> new RuntimeException("User not found with email: " + email));
-        } else {
-            throw new RuntimeException("Unknown principal type: " + principal.getClass().getName());
         }
+        throw new RuntimeException("Unknown principal type: " + principal.getClass().getName());
     }
 }
@@ -0,0 +1,75 @@
+package com.eventvista.event_vista.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+// Two TwoTierCache instances on one InProcessSharedCache stand in for two application
+// instances sharing a cache server
+class TwoTierCacheTest {
+    private final InProcessSharedCache shared = new InProcessSharedCache();
+    private final TwoTierCache<String> nodeA = newNode("principals");
+    private final TwoTierCache<String> nodeB = newNode("principals");
+
+    private final AtomicInteger loads = new AtomicInteger();
+    private final Function<String, String> loader = key -> key + "-v" + loads.incrementAndGet();
+
+    @Test
+    void valueLoadedByOneInstanceIsServedToTheOtherFromTheSharedTier() {
+        assertEquals("alice-v1", nodeA.get("alice", loader));
+        assertEquals("alice-v1", nodeB.get("alice", loader));
+        assertEquals("alice-v1", nodeB.get("alice", loader));
+
+        assertEquals(1, loads.get());
+        assertEquals(1L, nodeB.getStats().get("sharedHits"));
+        assertEquals(1L, nodeB.getStats().get("localHits"));
+    }
+
+    @Test
+    void invalidationReachesTheOtherInstancesLocalTier() {
+        nodeA.get("alice", loader);
+        nodeB.get("alice", loader);
+        List<String> seenByB = new ArrayList<>();
+        nodeB.onInvalidation(seenByB::add);
+
+        nodeA.invalidate("alice");
+
+        assertEquals(List.of("alice"), seenByB);
+        assertEquals(1L, nodeB.getStats().get("invalidations"));
+        assertNull(shared.get("principals", "alice"));
+        // B's local copy is gone too, so it reloads rather than serving the old value
+        assertEquals("alice-v2", nodeB.get("alice", loader));
+        assertEquals("alice-v2", nodeA.get("alice", loader));
+    }
+
+    @Test
+    void invalidationIsScopedToItsRegionAndKey() {
+        TwoTierCache<String> otherRegion = newNode("calendar-ids");
+        nodeA.get("alice", loader);
+        nodeB.get("bob", loader);
+        otherRegion.get("alice", loader);
+
+        nodeA.invalidate("alice");
+
+        assertEquals("bob-v2", nodeB.get("bob", loader));
+        assertEquals("alice-v3", otherRegion.get("alice", loader));
+        assertEquals(0L, otherRegion.getStats().get("invalidations"));
+    }
+
+    @Test
+    void nullValuesAreNotCached() {
+        assertNull(nodeA.get("missing", key -> null));
+        assertEquals("missing-v1", nodeB.get("missing", loader));
+    }
+
+    private TwoTierCache<String> newNode(String region) {
+        return new TwoTierCache<>(region, shared, String.class, Duration.ofMinutes(5), Duration.ofMinutes(15), 100);
+    }
+}
@@ -0,0 +1,35 @@
+package com.eventvista.event_vista.data;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Records every SQL statement Hibernate prepares so tests can inspect what a
+// repository method actually sends to the database
+// Registered through hibernate.session_factory.statement_inspector
+public class CapturedSql implements StatementInspector {
+    private static final List<String> statements = new ArrayList<>();
+
+    @Override
+    public String inspect(String sql) {
+        synchronized (statements) {
+            statements.add(sql);
+        }
+        return sql;
+    }
+
+    public static void clear() {
+        synchronized (statements) {
+            statements.clear();
+        }
+    }
+
+    public static List<String> drain() {
+        synchronized (statements) {
+            List<String> captured = new ArrayList<>(statements);
+            statements.clear();
+            return captured;
+        }
+    }
+}
@@ -0,0 +1,218 @@
+package com.eventvista.event_vista.data;
+
+import com.eventvista.event_vista.model.PhoneNumber;
+import com.eventvista.event_vista.model.User;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import jakarta.persistence.EntityManager;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Date;
+import java.sql.Time;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+// Query plan regression harness for the per-user repository paths
+// Seeds a few hundred users' worth of data into H2 running in MySQL mode, captures
+// the SQL Hibernate generates for each hot repository method and runs EXPLAIN on it
+// A query fails if any of its statements scans a whole table or index, or if its main
+// statement does not use the index it was written for. Plans are written to
+// build/reports/query-plans.txt
+// H2 keeps a separate index for each foreign key and, unlike MySQL, does not use an
+// equality prefix to satisfy ORDER BY, so plain user_id lookups may pick the foreign
+// key index over the composite one; those are only required to be index lookups
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:query-plans;MODE=MySQL;NON_KEYWORDS=USER,VALUE",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.database=H2",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.eventvista.event_vista.data.CapturedSql"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class QueryPlanTest {
+    private static final int USERS = 200;
+    private static final int EVENTS_PER_USER = 100;
+    private static final int CONTACTS_PER_USER = 20;
+    private static final int SKILLS_PER_USER = 5;
+    private static final LocalDate FIRST_DAY = LocalDate.of(2025, 1, 1);
+
+    // H2 prints an index or table access without a condition as "/* PUBLIC.NAME */",
+    // and a table scan as "/* PUBLIC.TABLE.tableScan */"
+    private static final Pattern FULL_SCAN = Pattern.compile("/\\*\\s*[\\w.\"]+\\s*\\*/");
+
+    @Autowired private JdbcTemplate jdbcTemplate;
+    @Autowired private EntityManager entityManager;
+    @Autowired private EventRepository eventRepository;
+    @Autowired private VenueRepository venueRepository;
+    @Autowired private VendorRepository vendorRepository;
+    @Autowired private ClientRepository clientRepository;
+    @Autowired private SkillRepository skillRepository;
+    @Autowired private CalendarRepository calendarRepository;
+
+    private final List<String> report = new ArrayList<>();
+    private final List<String> failures = new ArrayList<>();
+
+    @Test
+    void hotQueriesUseIndexes() throws IOException {
+        seed();
+        User user = entityManager.getReference(User.class, USERS / 2);
+        int someId = (USERS / 2 - 1) * EVENTS_PER_USER + 1;
+        LocalDate day = FIRST_DAY.plusDays(30);
+        PhoneNumber phone = new PhoneNumber("5550000001");
+
+        check("events by user", null,
+                () -> eventRepository.findAllByUserOrderByDateAscTimeAscIdAsc(user));
+        check("event summary page", null,
+                () -> eventRepository.findSummaryPage(user, Limit.of(50)));
+        check("event summary page after cursor", null,
+                () -> eventRepository.findSummaryPageAfter(user, day, LocalTime.NOON, someId, Limit.of(50)));
+        check("events by date range", "idx_event_user_date_time",
+                () -> eventRepository.findByDateBetweenAndUser(day, day.plusDays(7), user));
+        check("upcoming events", null,
+                () -> eventRepository.findUpcomingEvents(user, day, LocalTime.NOON, Limit.of(10)));
+        check("upcoming events widget", "idx_event_user_date_time",
+                () -> eventRepository.findByDateBetweenAndUserOrderByDateAscTimeAscIdAsc(
+                        day, day.plusDays(5), user, Limit.of(10)));
+        check("event by name", "idx_event_user_name",
+                () -> eventRepository.findByNameAndUser("Event 42", user));
+        check("event by id", null, () -> eventRepository.findByIdAndUser(someId, user));
+        check("events by venue", null, () -> eventRepository.findByVenueIdAndUser(someId, user));
+        check("events by client", null, () -> eventRepository.findByClientIdAndUser(someId, user));
+        check("events by vendor", null, () -> eventRepository.findByVendorsIdAndUser(someId, user));
+        // Weather prefetch across all users; H2 estimates any BETWEEN range at a quarter
+        // of the table and drives this join from venue instead, so it is recorded only
+        record("venue locations by date range",
+                () -> eventRepository.findDistinctVenueLocationsByDateBetween(day, day.plusDays(2)));
+
+        check("venues by user", null, () -> venueRepository.findAllByUser(user));
+        check("venue by name", null, () -> venueRepository.findByNameAndUser("Venue 7", user));
+        check("venue by location", "idx_venue_user_location",
+                () -> venueRepository.findByLocationAndUser("City 7", user));
+
+        check("vendors by user", null, () -> vendorRepository.findAllByUser(user));
+        check("vendor by name", null, () -> vendorRepository.findByNameAndUser("Vendor 7", user));
+        check("vendor by location", "idx_vendor_user_location",
+                () -> vendorRepository.findByLocationAndUser("City 7", user));
+
+        check("clients by user", null, () -> clientRepository.findAllByUser(user));
+        check("client by name", "idx_client_user_name",
+                () -> clientRepository.findByNameAndUser("Client 7", user));
+        check("client by email", "idx_client_user_email",
+                () -> clientRepository.findByEmailAddressAndUser("client7@example.com", user));
+        check("client by phone", "idx_client_user_phone",
+                () -> clientRepository.findByPhoneNumberAndUser(phone, user));
+
+        check("skills by user", null, () -> skillRepository.findAllByUser(user));
+        check("skill by name", null, () -> skillRepository.findByNameAndUser("Skill 3", user));
+
+        check("calendar by user", null, () -> calendarRepository.findByUser(user));
+
+        Path output = Path.of("build", "reports", "query-plans.txt");
+        Files.createDirectories(output.getParent());
+        Files.write(output, report);
+        assertTrue(failures.isEmpty(), () -> String.join("\n", failures) + "\nPlans: " + output.toAbsolutePath());
+    }
+
+    // Runs the query, then EXPLAINs every distinct statement it issued; expectedIndex is
+    // checked against the first statement, the others (eager loads) only have to avoid scans
+    private void check(String label, String expectedIndex, Runnable query) {
+        List<String> plans = explainAll(label, query);
+        for (int i = 0; i < plans.size(); i++) {
+            String plan = plans.get(i);
+            if (FULL_SCAN.matcher(plan).find()) {
+                failures.add(label + ": full scan\n" + plan);
+            } else if (i == 0 && expectedIndex != null
+                    && !plan.toLowerCase(Locale.ROOT).contains(expectedIndex)) {
+                failures.add(label + ": expected " + expectedIndex + "\n" + plan);
+            }
+        }
+    }
+
+    private void record(String label, Runnable query) {
+        explainAll(label, query);
+    }
+
+    private List<String> explainAll(String label, Runnable query) {
+        entityManager.clear();
+        CapturedSql.clear();
+        query.run();
+        List<String> statements = new ArrayList<>(new LinkedHashSet<>(CapturedSql.drain()));
+        if (statements.isEmpty()) {
+            fail(label + ": no SQL was issued");
+        }
+        List<String> plans = new ArrayList<>(statements.size());
+        for (int i = 0; i < statements.size(); i++) {
+            String plan = explain(statements.get(i));
+            plans.add(plan);
+            report.add("-- " + label + (i > 0 ? " (statement " + (i + 1) + ")" : ""));
+            report.add(plan);
+            report.add("");
+        }
+        return plans;
+    }
+
+    // Parameters are bound to null; H2 chooses the plan from the predicates, not the values
+    private String explain(String sql) {
+        int parameters = (int) sql.chars().filter(c -> c == '?').count();
+        return jdbcTemplate.queryForObject("EXPLAIN " + sql, String.class, new Object[parameters]);
+    }
+
+    private void seed() {
+        List<Object[]> users = new ArrayList<>();
+        List<Object[]> calendars = new ArrayList<>();
+        List<Object[]> venues = new ArrayList<>();
+        List<Object[]> vendors = new ArrayList<>();
+        List<Object[]> clients = new ArrayList<>();
+        List<Object[]> skills = new ArrayList<>();
+        List<Object[]> events = new ArrayList<>();
+        List<Object[]> eventVendors = new ArrayList<>();
+        for (int u = 1; u <= USERS; u++) {
+            users.add(new Object[]{u, "User " + u, "user" + u + "@example.com"});
+            calendars.add(new Object[]{u, u});
+            for (int c = 1; c <= CONTACTS_PER_USER; c++) {
+                int id = (u - 1) * CONTACTS_PER_USER + c;
+                venues.add(new Object[]{id, "Venue " + id, "City " + c, "venue" + id + "@example.com", u});
+                vendors.add(new Object[]{id, "Vendor " + id, "City " + c, "vendor" + id + "@example.com", u});
+                clients.add(new Object[]{id, "Client " + c, "client" + c + "@example.com",
+                        String.format("555%07d", c), u});
+            }
+            for (int s = 1; s <= SKILLS_PER_USER; s++) {
+                int id = (u - 1) * SKILLS_PER_USER + s;
+                skills.add(new Object[]{id, "Skill " + id, u});
+            }
+            for (int e = 1; e <= EVENTS_PER_USER; e++) {
+                int id = (u - 1) * EVENTS_PER_USER + e;
+                int contact = (u - 1) * CONTACTS_PER_USER + e % CONTACTS_PER_USER + 1;
+                events.add(new Object[]{id, "Event " + e, Date.valueOf(FIRST_DAY.plusDays(e * 3L % 365)),
+                        Time.valueOf(LocalTime.of(8 + e % 12, 0)), u, u, contact, contact});
+                eventVendors.add(new Object[]{id, contact});
+            }
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO user (id, name, email_address, email_verified) VALUES (?, ?, ?, TRUE)", users);
+        jdbcTemplate.batchUpdate("INSERT INTO calendar (id, user_id, name, sync_enabled, timezone) VALUES (?, ?, 'My Calendar', FALSE, 'UTC')", calendars);
+        jdbcTemplate.batchUpdate("INSERT INTO venue (id, name, location, email_address, user_id, capacity) VALUES (?, ?, ?, ?, ?, 100)", venues);
+        jdbcTemplate.batchUpdate("INSERT INTO vendor (id, name, location, email_address, user_id) VALUES (?, ?, ?, ?, ?)", vendors);
+        jdbcTemplate.batchUpdate("INSERT INTO client (id, name, email_address, phone_number, user_id) VALUES (?, ?, ?, ?, ?)", clients);
+        jdbcTemplate.batchUpdate("INSERT INTO skill (id, name, user_id) VALUES (?, ?, ?)", skills);
+        jdbcTemplate.batchUpdate("INSERT INTO event (id, name, date, time, user_id, calendar_id, venue_id, client_id) VALUES (?, ?, ?, ?, ?, ?, ?, ?)", events);
+        jdbcTemplate.batchUpdate("INSERT INTO event_vendors (events_id, vendors_id) VALUES (?, ?)", eventVendors);
+        jdbcTemplate.execute("ANALYZE");
+    }
+}
@@ -0,0 +1,184 @@
+package com.eventvista.event_vista.security;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Sliding-window counters and the 429 responses of the auth endpoint throttle
+// Counter tests pass explicit timestamps at window boundaries, so they do not
+// depend on when they run
+class LoginThrottleFilterTest {
+    private static final long WINDOW = 1000;
+    private static final long START = 10 * WINDOW;
+
+    @Test
+    void counterRejectsRequestsOverTheLimitWithinAWindow() {
+        SlidingWindowCounter counter = new SlidingWindowCounter(16, WINDOW, 3);
+
+        for (int i = 0; i < 3; i++) {
+            assertTrue(counter.tryAcquire("client", START));
+        }
+        assertFalse(counter.tryAcquire("client", START + 10));
+        assertEquals(1, counter.getRejected());
+    }
+
+    @Test
+    void previousWindowIsWeightedByItsRemainingOverlap() {
+        SlidingWindowCounter counter = new SlidingWindowCounter(16, WINDOW, 3);
+        for (int i = 0; i < 3; i++) {
+            counter.tryAcquire("client", START);
+        }
+
+        // Halfway through the next window the previous 3 requests count as 1.5
+        long halfway = START + WINDOW + WINDOW / 2;
+        assertTrue(counter.tryAcquire("client", halfway));
+        assertFalse(counter.tryAcquire("client", halfway));
+
+        // Two windows later nothing carries over
+        long later = START + 3 * WINDOW;
+        for (int i = 0; i < 3; i++) {
+            assertTrue(counter.tryAcquire("client", later));
+        }
+        assertEquals(WINDOW, counter.millisUntilNextWindow(later));
+    }
+
+    @Test
+    void lateTimestampsDoNotRollTheWindowBack() {
+        SlidingWindowCounter counter = new SlidingWindowCounter(16, WINDOW, 3);
+        long next = START + WINDOW;
+        for (int i = 0; i < 3; i++) {
+            assertTrue(counter.tryAcquire("client", next));
+        }
+
+        // Stamped just before the rollover by a thread that was slower to get here
+        assertFalse(counter.tryAcquire("client", next - 1));
+        // The newer window kept its count, plus the late request
+        assertFalse(counter.tryAcquire("client", next + 1));
+        assertEquals(2, counter.getRejected());
+        // Later windows still see the full window as previous
+        assertFalse(counter.tryAcquire("client", next + WINDOW));
+    }
+
+    @Test
+    void stripesAreRoundedUpToAPowerOfTwo() {
+        assertEquals(2, new SlidingWindowCounter(2, WINDOW, 1).getStripes());
+        assertEquals(1024, new SlidingWindowCounter(1000, WINDOW, 1).getStripes());
+        assertEquals(4096, new SlidingWindowCounter(4096, WINDOW, 1).getStripes());
+    }
+
+    @Test
+    void throttledIpGets429WithRetryAfter() throws Exception {
+        LoginThrottleFilter filter = new LoginThrottleFilter(true, 4096, 60, 2, 100, 8192);
+
+        assertEquals(200, send(filter, login("203.0.113.1", "a@example.com")).getStatus());
+        assertEquals(200, send(filter, login("203.0.113.1", "b@example.com")).getStatus());
+        MockFilterChain chain = new MockFilterChain();
+        MockHttpServletResponse rejected = new MockHttpServletResponse();
+        filter.doFilter(login("203.0.113.1", "c@example.com"), rejected, chain);
+
+        assertEquals(429, rejected.getStatus());
+        assertNull(chain.getRequest());
+        long retryAfter = Long.parseLong(rejected.getHeader("Retry-After"));
+        assertTrue(retryAfter >= 1 && retryAfter <= 60);
+        assertTrue(rejected.getContentAsString().contains("Too many requests"));
+        assertEquals(1L, filter.getStats().get("ipRejected"));
+    }
+
+    @Test
+    void throttledEmailGets429FromAnyIp() throws Exception {
+        LoginThrottleFilter filter = new LoginThrottleFilter(true, 4096, 60, 100, 2, 8192);
+
+        assertEquals(200, send(filter, login("203.0.113.1", "victim@example.com")).getStatus());
+        assertEquals(200, send(filter, login("203.0.113.2", "Victim@Example.com ")).getStatus());
+        assertEquals(429, send(filter, login("203.0.113.3", "victim@example.com")).getStatus());
+
+        // resend-verification names the account in a request parameter
+        MockHttpServletRequest resend = post("/api/auth/resend-verification", "203.0.113.4");
+        resend.setParameter("emailAddress", "victim@example.com");
+        assertEquals(429, send(filter, resend).getStatus());
+        assertEquals(2L, filter.getStats().get("emailRejected"));
+    }
+
+    @Test
+    void queryStringEmailDoesNotBypassTheBodyEmailLimit() throws Exception {
+        LoginThrottleFilter filter = new LoginThrottleFilter(true, 4096, 60, 100, 2, 8192);
+
+        for (int i = 0; i < 2; i++) {
+            MockHttpServletRequest request = login("203.0.113." + (i + 1), "victim@example.com");
+            request.setParameter("emailAddress", "random" + i + "@example.com");
+            assertEquals(200, send(filter, request).getStatus());
+        }
+        MockHttpServletRequest request = login("203.0.113.9", "victim@example.com");
+        request.setQueryString("emailAddress=random9@example.com");
+        request.setParameter("emailAddress", "random9@example.com");
+
+        assertEquals(429, send(filter, request).getStatus());
+    }
+
+    @Test
+    void allowedRequestsReachTheControllerWithTheirBody() throws Exception {
+        LoginThrottleFilter filter = new LoginThrottleFilter(true, 4096, 60, 20, 10, 8192);
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(login("203.0.113.1", "a@example.com"), new MockHttpServletResponse(), chain);
+
+        assertNotNull(chain.getRequest());
+        String body = new String(((HttpServletRequest) chain.getRequest()).getInputStream().readAllBytes(),
+                StandardCharsets.UTF_8);
+        assertTrue(body.contains("a@example.com"));
+    }
+
+    @Test
+    void otherRoutesAndMethodsAreNotThrottled() throws Exception {
+        LoginThrottleFilter filter = new LoginThrottleFilter(true, 4096, 60, 1, 1, 8192);
+
+        for (int i = 0; i < 3; i++) {
+            MockHttpServletRequest get = post("/api/auth/login", "203.0.113.1");
+            get.setMethod("GET");
+            assertEquals(200, send(filter, get).getStatus());
+            assertEquals(200, send(filter, post("/api/events/all", "203.0.113.1")).getStatus());
+        }
+    }
+
+    @Test
+    void oversizedBodyIsRejected() throws Exception {
+        LoginThrottleFilter filter = new LoginThrottleFilter(true, 4096, 60, 20, 10, 64);
+        MockHttpServletRequest request = post("/api/auth/login", "203.0.113.1");
+        request.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        request.setContent(("{\"emailAddress\":\"" + "a".repeat(100) + "@example.com\"}").getBytes(StandardCharsets.UTF_8));
+
+        assertEquals(413, send(filter, request).getStatus());
+    }
+
+    private static MockHttpServletResponse send(LoginThrottleFilter filter, MockHttpServletRequest request)
+            throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+
+    private static MockHttpServletRequest login(String ip, String email) {
+        MockHttpServletRequest request = post("/api/auth/login", ip);
+        request.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        request.setContent(("{\"emailAddress\":\"" + email + "\",\"password\":\"secret\"}")
+                .getBytes(StandardCharsets.UTF_8));
+        return request;
+    }
+
+    private static MockHttpServletRequest post(String uri, String ip) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", uri);
+        request.setRemoteAddr(ip);
+        return request;
+    }
+}
@@ -0,0 +1,85 @@
+package com.eventvista.event_vista.security;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.server.PathContainer;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// SecurityConfig hands PublicRoutes.patterns() to Spring's path matching, while
+// JwtAuthenticationFilter uses the compiled table; these checks make sure both sides
+// agree on every public route and on the paths around them
+class PublicRoutesTest {
+
+    @Test
+    void registryAgreesWithSpringPathPatterns() {
+        List<PathPattern> springPatterns = new ArrayList<>();
+        for (String pattern : PublicRoutes.patterns()) {
+            springPatterns.add(PathPatternParser.defaultInstance.parse(pattern));
+        }
+
+        for (String path : samplePaths()) {
+            PathContainer container = PathContainer.parsePath(path);
+            boolean permittedBySecurityConfig = springPatterns.stream().anyMatch(p -> p.matches(container));
+            assertEquals(permittedBySecurityConfig, PublicRoutes.isPublic(path), "Route lists disagree on " + path);
+        }
+    }
+
+    @Test
+    void everyPatternIsPublic() {
+        for (String pattern : PublicRoutes.patterns()) {
+            String path = pattern.endsWith("/**") ? pattern.substring(0, pattern.length() - 3) + "/x" : pattern;
+            assertTrue(PublicRoutes.isPublic(path), path);
+        }
+    }
+
+    @Test
+    void protectedEndpointsAreNotPublic() {
+        assertFalse(PublicRoutes.isPublic("/api/events/all"));
+        assertFalse(PublicRoutes.isPublic("/api/auth/update-profile"));
+        assertFalse(PublicRoutes.isPublic("/api/auth/login/extra"));
+        assertFalse(PublicRoutes.isPublic("/api/authx/login"));
+        assertFalse(PublicRoutes.isPublic("/"));
+        assertFalse(PublicRoutes.isPublic(""));
+    }
+
+    @Test
+    void patternsCopyCannotChangeRegistry() {
+        PublicRoutes.patterns()[0] = "/api/events/**";
+        assertFalse(PublicRoutes.isPublic("/api/events/all"));
+    }
+
+    @Test
+    void unsupportedPatternsAreRejected() {
+        assertThrows(IllegalArgumentException.class, () -> PublicRoutes.compile(new String[]{"/api/*/login"}));
+        assertThrows(IllegalArgumentException.class, () -> PublicRoutes.compile(new String[]{"api/login"}));
+    }
+
+    // Each pattern's own path plus its neighbours: children, trailing slashes,
+    // siblings sharing a prefix and the parent path
+    private Set<String> samplePaths() {
+        Set<String> paths = new LinkedHashSet<>(List.of(
+                "/", "/api", "/api/auth", "/api/events", "/api/events/all", "/api/auth/hashing-stats",
+                "/api/auth/update-profile", "/api/authx/login", "/oauth", "/login", "/login/oauth"));
+        for (String pattern : PublicRoutes.patterns()) {
+            String base = pattern.endsWith("/**") ? pattern.substring(0, pattern.length() - 3) : pattern;
+            paths.add(base);
+            paths.add(base + "/");
+            paths.add(base + "/x");
+            paths.add(base + "/x/y");
+            paths.add(base + "x");
+            paths.add(base.substring(0, base.lastIndexOf('/')));
+        }
+        paths.remove("");
+        return paths;
+    }
+}
@@ -0,0 +1,32 @@
+package com.eventvista.event_vista.security;
+
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// The cookie expired on login, refresh and logout must match the one issued before the
+// refresh cookie moved to /api/auth, or the browser keeps sending the old one to /refresh
+class RefreshTokenCookiesTest {
+
+    @Test
+    void expiresTheCookieIssuedBeforeThePathChange() {
+        Cookie legacy = RefreshTokenCookies.expireLegacy("jwt", true, true);
+
+        assertEquals("jwt_refresh", legacy.getName());
+        assertEquals("/api/auth/refresh", legacy.getPath());
+        assertEquals(0, legacy.getMaxAge());
+    }
+
+    @Test
+    void returnsEveryRefreshCookieInTheOrderSent() {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/auth/refresh");
+        request.setCookies(new Cookie("jwt_refresh", "legacy"), new Cookie("jwt", "access"),
+                new Cookie("jwt_refresh", ""), new Cookie("jwt_refresh", "current"));
+
+        assertEquals(List.of("legacy", "current"), RefreshTokenCookies.values(request, "jwt"));
+    }
+}
@@ -0,0 +1,193 @@
+package com.eventvista.event_vista.security;
+
+import com.eventvista.event_vista.cache.InProcessSharedCache;
+import com.eventvista.event_vista.data.RevokedTokenRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Refresh-token rotation and revocation against a real revoked_token table (H2 in
+// MySQL mode). Each test runs without a wrapping transaction, so every revocation
+// commits as it would in the application; two providers on separate registries and
+// caches stand in for two application instances sharing the database
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:token-rotation;MODE=MySQL;NON_KEYWORDS=USER,VALUE",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.database=H2",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.show-sql=false"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class TokenRotationTest {
+    private static final String SECRET = "test-secret-test-secret-test-secret-0123456789";
+
+    @Autowired
+    private RevokedTokenRepository repository;
+
+    private JwtTokenProvider provider;
+    private Authentication login;
+
+    @BeforeEach
+    void setUp() {
+        provider = newInstance();
+        String email = "user-" + UUID.randomUUID() + "@example.com";
+        CustomUserPrincipal principal = new CustomUserPrincipal(1, email, "User");
+        login = new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities());
+    }
+
+    @Test
+    void rotationIssuesNewPairInTheSameFamily() {
+        String refreshToken = provider.generateRefreshToken(login);
+
+        TokenPair rotated = provider.rotateRefreshToken(refreshToken).orElseThrow();
+
+        JwtClaims original = provider.parseAndVerify(refreshToken);
+        JwtClaims next = provider.parseAndVerify(rotated.getRefreshToken());
+        assertEquals(original.getFamilyId(), next.getFamilyId());
+        assertFalse(original.getTokenId().equals(next.getTokenId()));
+        assertEquals(original.getSubject(), provider.parseAndVerify(rotated.getAccessToken()).getSubject());
+        assertTrue(provider.validateToken(rotated.getAccessToken()));
+        assertTrue(provider.rotateRefreshToken(rotated.getRefreshToken()).isPresent());
+    }
+
+    @Test
+    void replayingAUsedRefreshTokenRevokesItsFamily() {
+        String refreshToken = provider.generateRefreshToken(login);
+        TokenPair rotated = provider.rotateRefreshToken(refreshToken).orElseThrow();
+
+        assertTrue(provider.rotateRefreshToken(refreshToken).isEmpty());
+
+        // The legitimate holder's newer token is refused too, while a separate login's
+        // family is untouched
+        assertTrue(provider.rotateRefreshToken(rotated.getRefreshToken()).isEmpty());
+        String otherLogin = provider.generateRefreshToken(login);
+        assertTrue(provider.rotateRefreshToken(otherLogin).isPresent());
+    }
+
+    @Test
+    void aRefreshTokenIsClaimedOnceAcrossInstances() {
+        JwtTokenProvider otherInstance = newInstance();
+        String refreshToken = provider.generateRefreshToken(login);
+
+        assertTrue(provider.rotateRefreshToken(refreshToken).isPresent());
+        assertTrue(otherInstance.rotateRefreshToken(refreshToken).isEmpty());
+    }
+
+    @Test
+    void concurrentRotationsOfOneTokenSucceedOnce() throws Exception {
+        List<JwtTokenProvider> instances = List.of(provider, newInstance(), newInstance(), newInstance());
+        String refreshToken = provider.generateRefreshToken(login);
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Callable<Optional<TokenPair>>> attempts = new ArrayList<>();
+            for (int i = 0; i < 16; i++) {
+                JwtTokenProvider instance = instances.get(i % instances.size());
+                attempts.add(() -> instance.rotateRefreshToken(refreshToken));
+            }
+            int succeeded = 0;
+            for (Future<Optional<TokenPair>> result : executor.invokeAll(attempts)) {
+                if (result.get().isPresent()) {
+                    succeeded++;
+                }
+            }
+            assertEquals(1, succeeded);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void logoutRevokesTheAccessTokenAndTheRefreshFamily() {
+        String accessToken = provider.generateAccessToken(login);
+        String refreshToken = provider.generateRefreshToken(login);
+        TokenPair rotated = provider.rotateRefreshToken(refreshToken).orElseThrow();
+        assertTrue(provider.validateToken(accessToken));
+
+        // What the logout handler does with the cookies it receives
+        provider.revokeToken(accessToken);
+        provider.revokeToken(rotated.getRefreshToken());
+
+        assertFalse(provider.validateToken(accessToken));
+        assertTrue(provider.rotateRefreshToken(rotated.getRefreshToken()).isEmpty());
+        // The family is revoked, not just the presented token
+        String familyId = provider.parseAndVerify(refreshToken).getFamilyId();
+        assertTrue(repository.existsByTokenIdAndExpiresAtAfter(familyId, Instant.now()));
+    }
+
+    @Test
+    void revocationsSurviveARebuildAndReachANewInstance() {
+        String accessToken = provider.generateAccessToken(login);
+        provider.revokeToken(accessToken);
+
+        // A new instance only knows what the table holds
+        JwtTokenProvider restarted = newInstance();
+        assertFalse(restarted.validateToken(accessToken));
+
+        TokenRevocationRegistry registry =
+                (TokenRevocationRegistry) ReflectionTestUtils.getField(provider, "revocations");
+        registry.rebuild();
+        assertFalse(provider.validateToken(accessToken));
+    }
+
+    @Test
+    void bloomFilterHasNoFalseNegativesAndFewFalsePositives() {
+        RevocationBloomFilter filter = new RevocationBloomFilter(10_000, 0.01);
+        List<String> revoked = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            String id = UUID.randomUUID().toString();
+            revoked.add(id);
+            filter.put(id);
+        }
+        for (String id : revoked) {
+            assertTrue(filter.mightContain(id));
+        }
+        int falsePositives = 0;
+        for (int i = 0; i < 10_000; i++) {
+            if (filter.mightContain(UUID.randomUUID().toString())) {
+                falsePositives++;
+            }
+        }
+        assertTrue(falsePositives < 300, "false positives: " + falsePositives);
+    }
+
+    // A provider with its own verified-token cache, revocation filter and shared cache,
+    // as on a separate application instance
+    private JwtTokenProvider newInstance() {
+        TokenRevocationRegistry registry =
+                new TokenRevocationRegistry(repository, new InProcessSharedCache(), 1000, 0.01, 600);
+        registry.loadRevocations();
+        JwtTokenProvider instance = new JwtTokenProvider();
+        ReflectionTestUtils.setField(instance, "jwtSecret", SECRET);
+        ReflectionTestUtils.setField(instance, "accessTokenExpirationInMs", 900_000);
+        ReflectionTestUtils.setField(instance, "refreshTokenExpirationInMs", 604_800_000);
+        ReflectionTestUtils.setField(instance, "tokenCache", new VerifiedTokenCache(1000));
+        ReflectionTestUtils.setField(instance, "revocations", registry);
+        instance.initSigningKey();
+        return instance;
+    }
+}
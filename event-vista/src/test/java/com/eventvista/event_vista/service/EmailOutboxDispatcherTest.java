@@ -0,0 +1,176 @@
+package com.eventvista.event_vista.service;
+
+import com.eventvista.event_vista.data.EmailOutboxRepository;
+import com.eventvista.event_vista.model.EmailOutbox;
+import com.eventvista.event_vista.model.EmailOutboxStatus;
+import com.eventvista.event_vista.stub.SmtpStubServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// Outbox delivery through the SMTP stub, claiming across instances, and the retention
+// purge of finished messages
+// Tests run without a wrapping transaction so each claim commits as it does in the
+// application; dispatchers sharing the table stand in for separate instances
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:email-outbox;MODE=MySQL;NON_KEYWORDS=USER,VALUE",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.database=H2",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.show-sql=false"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class EmailOutboxDispatcherTest {
+    @Autowired private EmailOutboxRepository repository;
+    @Autowired private JdbcTemplate jdbcTemplate;
+
+    private SmtpStubServer smtp;
+    private EmailOutboxDispatcher dispatcher;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        repository.deleteAll();
+        smtp = new SmtpStubServer(0, 0).start();
+        dispatcher = newDispatcher();
+    }
+
+    @AfterEach
+    void tearDown() {
+        smtp.close();
+    }
+
+    private EmailOutboxDispatcher newDispatcher() {
+        JavaMailSenderImpl mailSender = new JavaMailSenderImpl();
+        mailSender.setHost("127.0.0.1");
+        mailSender.setPort(smtp.getPort());
+        mailSender.getJavaMailProperties().put("mail.smtp.auth", "false");
+
+        EmailService emailService = new EmailService();
+        ReflectionTestUtils.setField(emailService, "mailSender", mailSender);
+        ReflectionTestUtils.setField(emailService, "fromEmail", "noreply@eventvista.test");
+        ReflectionTestUtils.setField(emailService, "frontendBaseUrl", "http://localhost:3000");
+
+        EmailOutboxDispatcher instance = new EmailOutboxDispatcher(repository, emailService);
+        ReflectionTestUtils.setField(instance, "batchSize", 5);
+        ReflectionTestUtils.setField(instance, "maxAttempts", 1);
+        ReflectionTestUtils.setField(instance, "batched", true);
+        ReflectionTestUtils.setField(instance, "claimTimeoutSeconds", 300L);
+        ReflectionTestUtils.setField(instance, "retentionHours", 168L);
+        return instance;
+    }
+
+    @Test
+    void dispatchSendsABatchOverOneConnection() {
+        for (int i = 0; i < 3; i++) {
+            repository.save(new EmailOutbox(EmailOutbox.VERIFICATION_EMAIL, "user" + i + "@example.com", "token-" + i));
+        }
+        repository.save(new EmailOutbox("UNKNOWN", "user@example.com", null));
+
+        dispatcher.dispatch();
+
+        assertEquals(3, smtp.getMessageCount());
+        assertEquals(1, smtp.getConnectionCount());
+        assertEquals(3, countByStatus(EmailOutboxStatus.SENT));
+        assertEquals(1, countByStatus(EmailOutboxStatus.FAILED));
+    }
+
+    @Test
+    void concurrentInstancesSendEachMessageOnce() throws Exception {
+        for (int i = 0; i < 40; i++) {
+            repository.save(new EmailOutbox(EmailOutbox.VERIFICATION_EMAIL, "user" + i + "@example.com", "token-" + i));
+        }
+        List<EmailOutboxDispatcher> instances = List.of(dispatcher, newDispatcher(), newDispatcher(), newDispatcher());
+
+        ExecutorService executor = Executors.newFixedThreadPool(instances.size());
+        try {
+            // Each instance keeps polling until the outbox is drained
+            List<Callable<Void>> pollers = new ArrayList<>();
+            for (EmailOutboxDispatcher instance : instances) {
+                pollers.add(() -> {
+                    while (countByStatus(EmailOutboxStatus.PENDING) + countByStatus(EmailOutboxStatus.SENDING) > 0) {
+                        instance.dispatch();
+                    }
+                    return null;
+                });
+            }
+            for (Future<Void> poller : executor.invokeAll(pollers)) {
+                poller.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(40, smtp.getMessageCount());
+        assertEquals(40, countByStatus(EmailOutboxStatus.SENT));
+    }
+
+    @Test
+    void expiredClaimsAreSentAgainAndLiveOnesAreLeftAlone() {
+        claimedBy("crashed-run", Instant.now().minusSeconds(1));
+        claimedBy("running-run", Instant.now().plusSeconds(60));
+
+        dispatcher.dispatch();
+
+        assertEquals(1, smtp.getMessageCount());
+        assertEquals(1, countByStatus(EmailOutboxStatus.SENT));
+        assertEquals(1, countByStatus(EmailOutboxStatus.SENDING));
+    }
+
+    @Test
+    void purgeRemovesOnlyOldFinishedMessages() {
+        Instant old = Instant.now().minus(Duration.ofHours(169));
+        insert(EmailOutboxStatus.SENT, old);
+        insert(EmailOutboxStatus.FAILED, old);
+        insert(EmailOutboxStatus.PENDING, old);
+        insert(EmailOutboxStatus.SENT, Instant.now().minus(Duration.ofHours(1)));
+
+        dispatcher.purgeFinished();
+
+        assertEquals(1, countByStatus(EmailOutboxStatus.SENT));
+        assertEquals(0, countByStatus(EmailOutboxStatus.FAILED));
+        assertEquals(1, countByStatus(EmailOutboxStatus.PENDING));
+    }
+
+    private void claimedBy(String claimToken, Instant leaseUntil) {
+        EmailOutbox message = repository.saveAndFlush(
+                new EmailOutbox(EmailOutbox.VERIFICATION_EMAIL, "user@example.com", "token"));
+        jdbcTemplate.update("UPDATE email_outbox SET status = 'SENDING', claim_token = ?, next_attempt_at = ? WHERE id = ?",
+                claimToken, Timestamp.from(leaseUntil), message.getId());
+    }
+
+    private void insert(EmailOutboxStatus status, Instant createdAt) {
+        EmailOutbox message = repository.saveAndFlush(
+                new EmailOutbox(EmailOutbox.VERIFICATION_EMAIL, "user@example.com", "token"));
+        jdbcTemplate.update("UPDATE email_outbox SET status = ?, created_at = ? WHERE id = ?",
+                status.name(), Timestamp.from(createdAt), message.getId());
+    }
+
+    private long countByStatus(EmailOutboxStatus status) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM email_outbox WHERE status = ?",
+                Long.class, status.name());
+    }
+}
@@ -0,0 +1,174 @@
+package com.eventvista.event_vista.service;
+
+import com.eventvista.event_vista.controller.EventController;
+import com.eventvista.event_vista.data.EventRepository;
+import com.eventvista.event_vista.exception.InvalidEventDataException;
+import com.eventvista.event_vista.model.User;
+import com.eventvista.event_vista.model.dto.EventPageDTO;
+import com.eventvista.event_vista.model.dto.EventSummaryDTO;
+import com.eventvista.event_vista.utilities.AuthUtil;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Date;
+import java.sql.Time;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+// Cursor paging of /api/events/all over a user whose events share dates and times,
+// so page boundaries fall inside runs of equal (date, time) that only the id orders
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:event-pages;MODE=MySQL;NON_KEYWORDS=USER,VALUE",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.database=H2",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.show-sql=false"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class EventPageTest {
+    private static final int EVENTS = 28;
+    private static final LocalDate FIRST_DAY = LocalDate.of(2025, 6, 1);
+
+    @Autowired private JdbcTemplate jdbcTemplate;
+    @Autowired private EntityManager entityManager;
+    @Autowired private EventRepository eventRepository;
+
+    private EventService eventService;
+    private User user;
+    private List<Integer> expectedOrder;
+
+    @BeforeEach
+    void setUp() {
+        eventService = new EventService(eventRepository, null, null, null);
+        seed();
+        user = entityManager.getReference(User.class, 1);
+    }
+
+    @Test
+    void walkingEveryPageReturnsEachEventOnceInOrder() {
+        for (int size : new int[]{1, 3, 4, 5, EVENTS, EVENTS + 1}) {
+            List<Integer> seen = new ArrayList<>();
+            String cursor = null;
+            int pages = 0;
+            do {
+                EventPageDTO page = eventService.findEventPage(user, cursor, size);
+                assertTrue(page.getEvents().size() <= size);
+                page.getEvents().forEach(event -> seen.add(event.getId()));
+                cursor = page.getNextCursor();
+                pages++;
+                if (cursor != null) {
+                    assertEquals(size, page.getEvents().size(), "only the last page may be short");
+                }
+            } while (cursor != null && pages <= EVENTS);
+
+            assertEquals(expectedOrder, seen, "size " + size);
+            // The extra row means an exactly full last page has no cursor, so no empty page follows
+            assertEquals((EVENTS + size - 1) / size, pages, "size " + size);
+        }
+    }
+
+    @Test
+    void cursorContinuesAfterTheLastEventOfThePage() {
+        EventPageDTO first = eventService.findEventPage(user, null, 4);
+        EventSummaryDTO last = first.getEvents().get(3);
+        assertNotNull(first.getNextCursor());
+
+        EventPageDTO second = eventService.findEventPage(user, first.getNextCursor(), 4);
+
+        assertEquals(expectedOrder.subList(4, 8), second.getEvents().stream().map(EventSummaryDTO::getId).toList());
+        EventSummaryDTO next = second.getEvents().get(0);
+        assertTrue(next.getDate().isAfter(last.getDate())
+                || next.getDate().equals(last.getDate()) && (next.getTime().isAfter(last.getTime())
+                || next.getTime().equals(last.getTime()) && next.getId() > last.getId()));
+    }
+
+    @Test
+    void emptyListingHasNoCursor() {
+        EventPageDTO page = eventService.findEventPage(entityManager.getReference(User.class, 3), null, 10);
+
+        assertTrue(page.getEvents().isEmpty());
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    void malformedCursorsAreRejected() {
+        for (String cursor : List.of("not a cursor", encode("2025-06-01|10:00"), encode("2025-13-01|10:00|1"),
+                encode("2025-06-01|25:00|1"), encode("2025-06-01|10:00|x"))) {
+            assertThrows(InvalidEventDataException.class, () -> eventService.findEventPage(user, cursor, 4), cursor);
+        }
+    }
+
+    @Test
+    void malformedCursorIsABadRequest() {
+        AuthUtil authUtil = mock(AuthUtil.class);
+        when(authUtil.getUserFromAuthentication()).thenReturn(user);
+        EventController controller = new EventController(eventService, authUtil);
+        ReflectionTestUtils.setField(controller, "defaultPageSize", 50);
+        ReflectionTestUtils.setField(controller, "maxPageSize", 200);
+
+        ResponseEntity<?> response = controller.getAllEvents(null, "not a cursor");
+
+        assertEquals(400, response.getStatusCode().value());
+        assertEquals(Map.of("message", "Invalid cursor"), response.getBody());
+        assertEquals(200, controller.getAllEvents(4, null).getStatusCode().value());
+    }
+
+    // User 1 gets EVENTS events over three days and two times a day, with ids assigned
+    // out of date order; user 2 has events on the same days that must never show up
+    private void seed() {
+        jdbcTemplate.update("INSERT INTO user (id, name, email_address, email_verified) VALUES "
+                + "(1, 'User 1', 'user1@example.com', TRUE), (2, 'User 2', 'user2@example.com', TRUE), "
+                + "(3, 'User 3', 'user3@example.com', TRUE)");
+        List<Object[]> events = new ArrayList<>();
+        List<Object[]> order = new ArrayList<>();
+        for (int i = 0; i < EVENTS; i++) {
+            int id = 100 + (i * 11) % EVENTS;
+            LocalDate date = FIRST_DAY.plusDays(i % 3);
+            LocalTime time = i % 2 == 0 ? LocalTime.of(10, 0) : LocalTime.of(18, 30);
+            events.add(new Object[]{id, "Event " + i, Date.valueOf(date), Time.valueOf(time), 1});
+            order.add(new Object[]{date, time, id});
+        }
+        for (int i = 0; i < 5; i++) {
+            events.add(new Object[]{200 + i, "Other " + i, Date.valueOf(FIRST_DAY.plusDays(i % 3)),
+                    Time.valueOf(LocalTime.of(10, 0)), 2});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO event (id, name, date, time, user_id) VALUES (?, ?, ?, ?, ?)", events);
+
+        order.sort((a, b) -> {
+            int byDate = ((LocalDate) a[0]).compareTo((LocalDate) b[0]);
+            int byTime = ((LocalTime) a[1]).compareTo((LocalTime) b[1]);
+            return byDate != 0 ? byDate : byTime != 0 ? byTime : Integer.compare((int) a[2], (int) b[2]);
+        });
+        expectedOrder = order.stream().map(row -> (Integer) row[2]).toList();
+        Set<Integer> distinct = new HashSet<>(expectedOrder);
+        assertEquals(EVENTS, distinct.size());
+    }
+
+    private static String encode(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,85 @@
+package com.eventvista.event_vista.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// Verification links sent before tokens moved out of the user table keep working
+// The old columns are added back by hand, as ddl-auto=update leaves them on a
+// database created before the move
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:verification-backfill;MODE=MySQL;NON_KEYWORDS=USER,VALUE",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.database=H2",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.show-sql=false"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import(LegacyVerificationTokenBackfill.class)
+class LegacyVerificationTokenBackfillTest {
+    @Autowired private JdbcTemplate jdbcTemplate;
+    @Autowired private LegacyVerificationTokenBackfill backfill;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("DELETE FROM verification_token");
+        jdbcTemplate.update("DELETE FROM user");
+        jdbcTemplate.execute("ALTER TABLE user ADD COLUMN IF NOT EXISTS verification_token VARCHAR(255)");
+        jdbcTemplate.execute("ALTER TABLE user ADD COLUMN IF NOT EXISTS verification_token_expiry_date TIMESTAMP");
+    }
+
+    @Test
+    void copiesUnverifiedUsersTokensOnce() {
+        LocalDateTime expiry = LocalDateTime.now().plusHours(12).withNano(0);
+        insertUser(1, false, "pending-token", expiry);
+        insertUser(2, true, "verified-token", expiry);
+        insertUser(3, false, null, null);
+        jdbcTemplate.update("INSERT INTO verification_token (token, user_id, expires_at) VALUES ('pending-token', 1, ?)",
+                Timestamp.valueOf(expiry));
+        insertUser(4, false, "second-token", expiry);
+
+        backfill.backfill();
+        backfill.backfill();
+
+        assertEquals(2, count("SELECT COUNT(*) FROM verification_token"));
+        assertEquals(expiry, jdbcTemplate.queryForObject(
+                "SELECT expires_at FROM verification_token WHERE token = 'second-token' AND user_id = 4",
+                LocalDateTime.class));
+        assertEquals(0, count("SELECT COUNT(*) FROM user WHERE verification_token IS NOT NULL"));
+    }
+
+    @Test
+    void doesNothingWithoutTheOldColumns() {
+        jdbcTemplate.execute("ALTER TABLE user DROP COLUMN verification_token");
+        jdbcTemplate.execute("ALTER TABLE user DROP COLUMN verification_token_expiry_date");
+
+        backfill.backfill();
+
+        assertEquals(0, count("SELECT COUNT(*) FROM verification_token"));
+    }
+
+    private void insertUser(int id, boolean verified, String token, LocalDateTime expiry) {
+        jdbcTemplate.update("INSERT INTO user (id, name, email_address, email_verified, verification_token, "
+                        + "verification_token_expiry_date) VALUES (?, ?, ?, ?, ?, ?)",
+                id, "User " + id, "user" + id + "@example.com", verified, token,
+                expiry == null ? null : Timestamp.valueOf(expiry));
+    }
+
+    private int count(String sql) {
+        return jdbcTemplate.queryForObject(sql, Integer.class);
+    }
+}
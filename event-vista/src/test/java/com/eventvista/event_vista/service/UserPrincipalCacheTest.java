@@ -0,0 +1,52 @@
+package com.eventvista.event_vista.service;
+
+import com.eventvista.event_vista.cache.InProcessSharedCache;
+import com.eventvista.event_vista.data.UserRepository;
+import com.eventvista.event_vista.model.User;
+import com.eventvista.event_vista.security.CustomUserPrincipal;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+// Only the users listed in app.admin.emails get ROLE_ADMIN, which the stats endpoints require
+class UserPrincipalCacheTest {
+
+    @Test
+    void listedEmailsAreLoadedAsAdministrators() {
+        UserRepository repository = mock(UserRepository.class);
+        when(repository.findByEmailAddress(anyString())).thenAnswer(invocation -> {
+            User user = new User("name", null, invocation.getArgument(0));
+            user.setId(1);
+            return Optional.of(user);
+        });
+        UserPrincipalCache cache = new UserPrincipalCache(repository, new InProcessSharedCache(), 300, 900, 100,
+                List.of(" Admin@Example.com", ""));
+
+        assertEquals(Set.of("ROLE_USER", "ROLE_ADMIN"), roles(cache.getPrincipal("admin@example.com")));
+        assertEquals(Set.of("ROLE_USER"), roles(cache.getPrincipal("user@example.com")));
+    }
+
+    @Test
+    void noAdministratorsByDefault() {
+        UserRepository repository = mock(UserRepository.class);
+        User user = new User("name", null, "admin@example.com");
+        when(repository.findByEmailAddress("admin@example.com")).thenReturn(Optional.of(user));
+        UserPrincipalCache cache = new UserPrincipalCache(repository, new InProcessSharedCache(), 300, 900, 100,
+                List.of());
+
+        assertEquals(Set.of("ROLE_USER"), roles(cache.getPrincipal("admin@example.com")));
+    }
+
+    private static Set<String> roles(CustomUserPrincipal principal) {
+        return principal.getAuthorities().stream().map(GrantedAuthority::getAuthority).collect(Collectors.toSet());
+    }
+}
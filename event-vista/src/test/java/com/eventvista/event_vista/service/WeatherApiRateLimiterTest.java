@@ -0,0 +1,64 @@
+package com.eventvista.event_vista.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Per-minute token bucket and per-day quota for outbound weather calls
+// Elapsed time is simulated by moving the limiter's last refill and quota day back
+class WeatherApiRateLimiterTest {
+
+    @Test
+    void burstIsLimitedToCallsPerMinute() {
+        WeatherApiRateLimiter limiter = new WeatherApiRateLimiter(3, 1000);
+
+        assertTrue(limiter.tryAcquire());
+        assertTrue(limiter.tryAcquire());
+        assertTrue(limiter.tryAcquire());
+        assertFalse(limiter.tryAcquire());
+        assertEquals(1L, limiter.getStats().get("rejectedCalls"));
+    }
+
+    @Test
+    void tokensRefillOverTheMinute() {
+        WeatherApiRateLimiter limiter = new WeatherApiRateLimiter(3, 1000);
+        for (int i = 0; i < 3; i++) {
+            limiter.tryAcquire();
+        }
+
+        // 20 seconds at 3 calls per minute is one call
+        elapse(limiter, 20);
+        assertTrue(limiter.tryAcquire());
+        assertFalse(limiter.tryAcquire());
+
+        // The bucket never holds more than one minute's worth
+        elapse(limiter, 600);
+        assertEquals(3L, limiter.getStats().get("availableTokens"));
+    }
+
+    @Test
+    void dailyQuotaCapsCallsUntilTheUtcDayChanges() {
+        WeatherApiRateLimiter limiter = new WeatherApiRateLimiter(100, 2);
+
+        assertTrue(limiter.tryAcquire());
+        assertTrue(limiter.tryAcquire());
+        assertFalse(limiter.tryAcquire());
+        assertEquals(100L, limiter.getStats().get("dailyBudgetUsedPercent"));
+
+        ReflectionTestUtils.setField(limiter, "quotaDay", LocalDate.now(ZoneOffset.UTC).minusDays(1));
+        assertTrue(limiter.tryAcquire());
+        assertEquals(1L, limiter.getStats().get("callsToday"));
+    }
+
+    private static void elapse(WeatherApiRateLimiter limiter, long seconds) {
+        long lastRefill = (long) ReflectionTestUtils.getField(limiter, "lastRefillNanos");
+        ReflectionTestUtils.setField(limiter, "lastRefillNanos", lastRefill - TimeUnit.SECONDS.toNanos(seconds));
+    }
+}
@@ -0,0 +1,79 @@
+package com.eventvista.event_vista.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// CLOSED -> OPEN after the failure threshold, OPEN -> HALF_OPEN once open-seconds
+// have passed, and the single probe call deciding between CLOSED and OPEN
+class WeatherCircuitBreakerTest {
+
+    @Test
+    void opensAfterConsecutiveFailuresAndRejectsCalls() {
+        WeatherCircuitBreaker breaker = new WeatherCircuitBreaker(3, 60);
+
+        breaker.recordFailure();
+        breaker.recordFailure();
+        breaker.recordSuccess();
+        breaker.recordFailure();
+        breaker.recordFailure();
+        assertEquals(WeatherCircuitBreaker.State.CLOSED, breaker.getState());
+        assertTrue(breaker.allowRequest());
+
+        breaker.recordFailure();
+        assertEquals(WeatherCircuitBreaker.State.OPEN, breaker.getState());
+        assertFalse(breaker.allowRequest());
+        assertFalse(breaker.allowRequest());
+        assertEquals(2L, breaker.getStats().get("rejectedCalls"));
+    }
+
+    @Test
+    void successfulProbeClosesTheCircuit() {
+        WeatherCircuitBreaker breaker = openBreaker();
+
+        // open-seconds is 0, so the next call is the half-open probe
+        assertTrue(breaker.allowRequest());
+        assertEquals(WeatherCircuitBreaker.State.HALF_OPEN, breaker.getState());
+        assertFalse(breaker.allowRequest());
+
+        breaker.recordSuccess();
+        assertEquals(WeatherCircuitBreaker.State.CLOSED, breaker.getState());
+        assertTrue(breaker.allowRequest());
+        assertTrue(breaker.allowRequest());
+        assertEquals(Map.of("toCLOSED", 1L, "toOPEN", 1L, "toHALF_OPEN", 1L), breaker.getStats().get("transitions"));
+    }
+
+    @Test
+    void failedProbeReopensTheCircuit() {
+        WeatherCircuitBreaker breaker = openBreaker();
+
+        assertTrue(breaker.allowRequest());
+        breaker.recordFailure();
+
+        assertEquals(WeatherCircuitBreaker.State.OPEN, breaker.getState());
+    }
+
+    @Test
+    void releasedProbeLetsTheNextCallerProbe() {
+        WeatherCircuitBreaker breaker = openBreaker();
+
+        assertTrue(breaker.allowRequest());
+        assertFalse(breaker.allowRequest());
+        breaker.releasePermit();
+
+        assertTrue(breaker.allowRequest());
+        assertEquals(WeatherCircuitBreaker.State.HALF_OPEN, breaker.getState());
+    }
+
+    private static WeatherCircuitBreaker openBreaker() {
+        WeatherCircuitBreaker breaker = new WeatherCircuitBreaker(2, 0);
+        breaker.recordFailure();
+        breaker.recordFailure();
+        assertEquals(WeatherCircuitBreaker.State.OPEN, breaker.getState());
+        return breaker;
+    }
+}
@@ -0,0 +1,50 @@
+package com.eventvista.event_vista.service;
+
+import com.eventvista.event_vista.model.dto.WeatherForecast;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+// Expired entries stay readable through getStale until the stale window ends
+class WeatherForecastCacheTest {
+    private final WeatherForecastCache cache = new WeatherForecastCache(30, 360, 10);
+
+    @Test
+    void expiredEntryIsOnlyReturnedAsStale() {
+        cache.put("Boston,US", "forecast", fetchedAgo(Duration.ofMinutes(45)));
+
+        assertNull(cache.get("Boston,US", "forecast"));
+        assertNotNull(cache.getStale("Boston,US", "forecast"));
+        assertEquals(1L, cache.getStats().get("misses"));
+    }
+
+    @Test
+    void entryPastTheStaleWindowIsNotReturned() {
+        cache.put("Boston,US", "forecast", fetchedAgo(Duration.ofHours(7)));
+
+        assertNull(cache.getStale("Boston,US", "forecast"));
+    }
+
+    @Test
+    void staleServedCountsOnlyRecordedServes() {
+        cache.put("Boston,US", "forecast", fetchedAgo(Duration.ofMinutes(45)));
+
+        // Looked up but rejected by the caller, e.g. it does not cover the date
+        cache.getStale("Boston,US", "forecast");
+        assertEquals(0L, cache.getStats().get("staleServed"));
+
+        cache.getStale("Boston,US", "forecast");
+        cache.recordStaleServed();
+        assertEquals(1L, cache.getStats().get("staleServed"));
+    }
+
+    private static WeatherForecast fetchedAgo(Duration age) {
+        return new WeatherForecast(Instant.now().minus(age),
+                new long[]{0}, new double[]{50.0}, new String[]{"01d"}, new String[]{"clear sky"});
+    }
+}
@@ -0,0 +1,58 @@
+package com.eventvista.event_vista.service;
+
+import com.eventvista.event_vista.data.EventRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+// Without a weather API key the prefetch job is neither scheduled nor run
+class WeatherPrefetchSchedulerTest {
+    private final EventRepository eventRepository = mock(EventRepository.class);
+    private final WeatherService weatherService = mock(WeatherService.class);
+    private final WeatherPrefetchScheduler scheduler = new WeatherPrefetchScheduler(eventRepository, weatherService);
+
+    WeatherPrefetchSchedulerTest() {
+        ReflectionTestUtils.setField(scheduler, "enabled", true);
+        ReflectionTestUtils.setField(scheduler, "intervalMinutes", 20L);
+        ReflectionTestUtils.setField(scheduler, "jitterSeconds", 120L);
+        ReflectionTestUtils.setField(scheduler, "maxCallsPerRun", 50);
+    }
+
+    @Test
+    void blankApiKeySkipsScheduleAndRun() {
+        when(weatherService.isApiKeyConfigured()).thenReturn(false);
+        ScheduledTaskRegistrar registrar = new ScheduledTaskRegistrar();
+
+        scheduler.configureTasks(registrar);
+        scheduler.prefetch();
+
+        assertEquals(0, registrar.getTriggerTaskList().size());
+        verifyNoInteractions(eventRepository);
+    }
+
+    @Test
+    void configuredApiKeyPrefetchesUpcomingLocations() throws Exception {
+        when(weatherService.isApiKeyConfigured()).thenReturn(true);
+        when(eventRepository.findDistinctVenueLocationsByDateBetween(any(), any())).thenReturn(List.of("Paris"));
+        ScheduledTaskRegistrar registrar = new ScheduledTaskRegistrar();
+
+        scheduler.configureTasks(registrar);
+        scheduler.prefetch();
+
+        assertEquals(1, registrar.getTriggerTaskList().size());
+        verify(weatherService, times(2)).prefetchForecast(eq("Paris"), any(LocalDate.class), any(Duration.class));
+    }
+}
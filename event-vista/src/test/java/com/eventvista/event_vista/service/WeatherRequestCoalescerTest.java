@@ -0,0 +1,130 @@
+package com.eventvista.event_vista.service;
+
+import com.eventvista.event_vista.exception.WeatherServiceException;
+import com.eventvista.event_vista.model.dto.WeatherForecast;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Callers asking for the same location and endpoint while a call is running share it
+class WeatherRequestCoalescerTest {
+    private static final WeatherForecast FORECAST = new WeatherForecast(Instant.now(),
+            new long[]{0}, new double[]{50.0}, new String[]{"01d"}, new String[]{"clear sky"});
+
+    private final WeatherRequestCoalescer coalescer = new WeatherRequestCoalescer();
+    private final ExecutorService executor = Executors.newFixedThreadPool(4);
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void concurrentCallersShareOneUpstreamCall() throws Exception {
+        CountDownLatch upstreamStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger upstreamCalls = new AtomicInteger();
+
+        Future<WeatherForecast> leader = executor.submit(() -> coalescer.execute("Paris", "forecast", () -> {
+            upstreamCalls.incrementAndGet();
+            upstreamStarted.countDown();
+            await(release);
+            return FORECAST;
+        }));
+        assertTrue(upstreamStarted.await(5, TimeUnit.SECONDS));
+        assertTrue(coalescer.isInFlight("Paris", "forecast"));
+
+        Future<WeatherForecast> follower = executor.submit(() -> coalescer.execute("Paris", "forecast", () -> {
+            upstreamCalls.incrementAndGet();
+            return FORECAST;
+        }));
+        waitForCoalescedCalls(1);
+        CompletableFuture<WeatherForecast> asyncFollower = coalescer.executeAsync("Paris", "forecast",
+                () -> CompletableFuture.completedFuture(FORECAST));
+        release.countDown();
+
+        assertSame(FORECAST, leader.get(5, TimeUnit.SECONDS));
+        assertSame(FORECAST, follower.get(5, TimeUnit.SECONDS));
+        assertSame(FORECAST, asyncFollower.get(5, TimeUnit.SECONDS));
+        assertEquals(1, upstreamCalls.get());
+        assertEquals(1L, coalescer.getStats().get("upstreamCalls"));
+        assertEquals(2L, coalescer.getStats().get("coalescedCalls"));
+        assertFalse(coalescer.isInFlight("Paris", "forecast"));
+    }
+
+    @Test
+    void followersSeeTheLeadersException() throws Exception {
+        CountDownLatch upstreamStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        Future<WeatherForecast> leader = executor.submit(() -> coalescer.execute("Paris", "weather", () -> {
+            upstreamStarted.countDown();
+            await(release);
+            throw new WeatherServiceException("upstream failed");
+        }));
+        assertTrue(upstreamStarted.await(5, TimeUnit.SECONDS));
+        Future<WeatherForecast> follower = executor.submit(() -> coalescer.execute("Paris", "weather", () -> FORECAST));
+        waitForCoalescedCalls(1);
+        release.countDown();
+
+        assertEquals(WeatherServiceException.class, causeOf(leader).getClass());
+        assertEquals("upstream failed", causeOf(follower).getMessage());
+        // The failed call is not cached; the next caller goes upstream again
+        assertSame(FORECAST, coalescer.execute("Paris", "weather", () -> FORECAST));
+    }
+
+    @Test
+    void differentKeysAreNotCoalesced() {
+        coalescer.execute("Paris", "forecast", () -> FORECAST);
+        coalescer.execute("Paris", "weather", () -> FORECAST);
+        coalescer.execute("Lyon", "forecast", () -> FORECAST);
+
+        assertEquals(3L, coalescer.getStats().get("upstreamCalls"));
+        assertEquals(0L, coalescer.getStats().get("coalescedCalls"));
+    }
+
+    @Test
+    void asyncFailureReleasesTheKey() {
+        CompletableFuture<WeatherForecast> call = coalescer.executeAsync("Paris", "forecast",
+                () -> CompletableFuture.failedFuture(new WeatherServiceException("upstream failed")));
+
+        ExecutionException failure = assertThrows(ExecutionException.class, call::get);
+        assertEquals(WeatherServiceException.class, failure.getCause().getClass());
+        assertFalse(coalescer.isInFlight("Paris", "forecast"));
+    }
+
+    private void waitForCoalescedCalls(long expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while ((long) coalescer.getStats().get("coalescedCalls") < expected && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertEquals(expected, coalescer.getStats().get("coalescedCalls"));
+    }
+
+    private static Throwable causeOf(Future<?> future) {
+        return assertThrows(ExecutionException.class, () -> future.get(5, TimeUnit.SECONDS)).getCause();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
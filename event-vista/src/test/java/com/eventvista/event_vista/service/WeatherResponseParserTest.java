@@ -0,0 +1,114 @@
+package com.eventvista.event_vista.service;
+
+import com.eventvista.event_vista.exception.WeatherServiceException;
+import com.eventvista.event_vista.model.dto.WeatherData;
+import com.eventvista.event_vista.model.dto.WeatherForecast;
+import com.eventvista.event_vista.stub.OpenWeatherMapStubServer;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// The streaming parser must read the same values a full JSON tree would, from the
+// recorded payloads and from live responses of the OpenWeatherMap stub
+class WeatherResponseParserTest {
+    private final WeatherResponseParser parser = new WeatherResponseParser();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void forecastMatchesTheJsonTree() throws IOException {
+        WeatherForecast forecast = parser.parseForecast(resource("/owm/forecast.json"));
+        JsonNode tree = objectMapper.readTree(resource("/owm/forecast.json"));
+
+        assertEquals(tree.path("list").size(), forecast.size());
+        // findForDate answers with the first slot of each day
+        Map<LocalDate, JsonNode> firstSlots = new LinkedHashMap<>();
+        for (JsonNode slot : tree.path("list")) {
+            firstSlots.putIfAbsent(LocalDate.ofEpochDay(Math.floorDiv(slot.path("dt").asLong(), 86_400)), slot);
+        }
+        for (Map.Entry<LocalDate, JsonNode> day : firstSlots.entrySet()) {
+            WeatherData data = forecast.findForDate(day.getKey()).orElseThrow();
+            JsonNode condition = day.getValue().path("weather").get(0);
+            assertEquals(String.format("%.1f°F", day.getValue().path("main").path("temp").asDouble()),
+                    data.getTemperature());
+            assertEquals(condition.path("icon").asText(), data.getIcon());
+            assertEquals(condition.path("description").asText(), data.getDescription());
+        }
+    }
+
+    @Test
+    void parsesLiveStubResponses() throws Exception {
+        try (OpenWeatherMapStubServer stub = new OpenWeatherMapStubServer(0, 0, 0, 0, 0).start()) {
+            HttpClient client = HttpClient.newHttpClient();
+
+            WeatherForecast forecast = parser.parseForecast(get(client, stub, "forecast"));
+            assertEquals(40, forecast.size());
+            assertTrue(forecast.findForDate(LocalDate.now(ZoneOffset.UTC)).isPresent());
+            assertTrue(forecast.findForDate(LocalDate.now(ZoneOffset.UTC).plusDays(4)).isPresent());
+
+            WeatherData current = parser.parseCurrent(get(client, stub, "weather"))
+                    .findForDate(LocalDate.now()).orElseThrow();
+            assertEquals("41.2°F", current.getTemperature());
+            assertEquals("02d", current.getIcon());
+            assertEquals("few clouds", current.getDescription());
+            assertEquals(2, stub.getRequestCount());
+        }
+    }
+
+    @Test
+    void fieldOrderAndUnknownFieldsDoNotMatter() throws IOException {
+        String body = "{\"extra\":{\"nested\":[1,[2,{\"temp\":0}]]},"
+                + "\"weather\":[{\"description\":\"light rain\",\"id\":500,\"icon\":\"10d\"},{\"icon\":\"01d\"}],"
+                + "\"main\":{\"feels_like\":1.5,\"temp\":7}}";
+
+        WeatherData data = parser.parseCurrent(json(body)).findForDate(LocalDate.now()).orElseThrow();
+
+        assertEquals("7.0°F", data.getTemperature());
+        assertEquals("10d", data.getIcon());
+        assertEquals("light rain", data.getDescription());
+    }
+
+    @Test
+    void incompleteOrMalformedResponsesAreRejected() {
+        assertThrows(WeatherServiceException.class,
+                () -> parser.parseCurrent(json("{\"weather\":[{\"icon\":\"01d\"}],\"main\":{}}")));
+        assertThrows(WeatherServiceException.class,
+                () -> parser.parseCurrent(json("{\"main\":{\"temp\":7}}")));
+        assertThrows(WeatherServiceException.class, () -> parser.parseForecast(json("[]")));
+        assertThrows(WeatherServiceException.class,
+                () -> parser.parseForecast(json("{\"list\":[{\"dt\":0,\"main\":{\"temp\":1}}]}")));
+    }
+
+    private static InputStream get(HttpClient client, OpenWeatherMapStubServer stub, String endpoint)
+            throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(
+                URI.create(stub.getBaseUrl() + "/data/2.5/" + endpoint + "?q=Paris&appid=test&units=imperial")).build();
+        HttpResponse<InputStream> response = client.send(request, HttpResponse.BodyHandlers.ofInputStream());
+        assertEquals(200, response.statusCode());
+        return response.body();
+    }
+
+    private static InputStream resource(String name) {
+        return WeatherResponseParserTest.class.getResourceAsStream(name);
+    }
+
+    private static InputStream json(String body) {
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,242 @@
+package com.eventvista.event_vista.stub;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Embedded stand-in for the OpenWeatherMap /data/2.5/weather and /data/2.5/forecast
+// endpoints, serving the recorded payloads in src/test/resources/owm
+// Point the app at it with weather.api.url (WEATHER_API_URL) to load-test the weather
+// features offline. Latency, 5xx errors and 429 responses are configurable
+// Timestamps in the recorded payloads are shifted so the forecast always starts at
+// the current 3-hour slot and current conditions are reported for now
+// Responses are delayed on a scheduler rather than a sleeping thread, so slow
+// responses do not limit how many requests the stub can hold open
+public class OpenWeatherMapStubServer implements AutoCloseable {
+    private static final long SLOT_SECONDS = 3 * 60 * 60;
+    private static final DateTimeFormatter DT_TXT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    private static final byte[] SERVER_ERROR =
+            "{\"cod\":500,\"message\":\"Internal error\"}".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] TOO_MANY_REQUESTS =
+            ("{\"cod\":429,\"message\":\"Your account is temporarily blocked due to exceeding of requests limitation "
+                    + "of your subscription type.\"}").getBytes(StandardCharsets.UTF_8);
+    private static final byte[] MISSING_QUERY =
+            "{\"cod\":\"400\",\"message\":\"Nothing to geocode\"}".getBytes(StandardCharsets.UTF_8);
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final JsonNode recordedForecast;
+    private final JsonNode recordedWeather;
+
+    private final long latencyMs;
+    private final long latencyJitterMs;
+    private final double errorRate;
+    private final double rateLimitRate;
+
+    private final HttpServer server;
+    private final ExecutorService handlerExecutor;
+    private final ScheduledExecutorService responseScheduler;
+
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong errorsInjected = new AtomicLong();
+    private final AtomicLong rateLimitsInjected = new AtomicLong();
+
+    // Payloads re-stamped for the current slot, rebuilt when the slot changes
+    private volatile Rendered forecast;
+    private volatile Rendered weather;
+
+    // Port 0 picks a free port; see getBaseUrl
+    public OpenWeatherMapStubServer(int port, long latencyMs, long latencyJitterMs,
+                                    double errorRate, double rateLimitRate) throws IOException {
+        this.recordedForecast = readPayload("/owm/forecast.json");
+        this.recordedWeather = readPayload("/owm/weather.json");
+        this.latencyMs = Math.max(0, latencyMs);
+        this.latencyJitterMs = Math.max(0, latencyJitterMs);
+        this.errorRate = errorRate;
+        this.rateLimitRate = rateLimitRate;
+
+        // Without TCP_NODELAY the small response writes add delayed-ACK stalls
+        System.setProperty("sun.net.httpserver.nodelay", "true");
+        this.server = HttpServer.create(new InetSocketAddress(port), 512);
+        this.handlerExecutor = Executors.newFixedThreadPool(4);
+        this.responseScheduler = Executors.newScheduledThreadPool(4);
+        server.setExecutor(handlerExecutor);
+        server.createContext("/data/2.5/forecast", exchange -> handle(exchange, true));
+        server.createContext("/data/2.5/weather", exchange -> handle(exchange, false));
+    }
+
+    // Reads owm.stub.port, owm.stub.latency-ms, owm.stub.latency-jitter-ms,
+    // owm.stub.error-rate and owm.stub.rate-limit-rate (rates between 0 and 1)
+    public static OpenWeatherMapStubServer fromSystemProperties() throws IOException {
+        return new OpenWeatherMapStubServer(
+                Integer.getInteger("owm.stub.port", 8089),
+                Long.getLong("owm.stub.latency-ms", 100),
+                Long.getLong("owm.stub.latency-jitter-ms", 0),
+                Double.parseDouble(System.getProperty("owm.stub.error-rate", "0")),
+                Double.parseDouble(System.getProperty("owm.stub.rate-limit-rate", "0")));
+    }
+
+    public static void main(String[] args) throws IOException {
+        OpenWeatherMapStubServer stub = fromSystemProperties();
+        stub.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(stub::close));
+        System.out.println("OpenWeatherMap stub listening on " + stub.getBaseUrl()
+                + " (latency " + stub.latencyMs + "ms +/- " + stub.latencyJitterMs + "ms, error rate "
+                + stub.errorRate + ", 429 rate " + stub.rateLimitRate + ")");
+    }
+
+    public OpenWeatherMapStubServer start() {
+        server.start();
+        return this;
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        responseScheduler.shutdownNow();
+        handlerExecutor.shutdownNow();
+    }
+
+    // Value for weather.api.url
+    public String getBaseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    public long getRequestCount() {
+        return requests.get();
+    }
+
+    public long getErrorsInjected() {
+        return errorsInjected.get();
+    }
+
+    public long getRateLimitsInjected() {
+        return rateLimitsInjected.get();
+    }
+
+    private void handle(HttpExchange exchange, boolean forecastEndpoint) {
+        requests.incrementAndGet();
+        int status;
+        byte[] body;
+        String query = exchange.getRequestURI().getRawQuery();
+        double roll = ThreadLocalRandom.current().nextDouble();
+        if (roll < rateLimitRate) {
+            rateLimitsInjected.incrementAndGet();
+            status = 429;
+            body = TOO_MANY_REQUESTS;
+        } else if (roll < rateLimitRate + errorRate) {
+            errorsInjected.incrementAndGet();
+            status = 500;
+            body = SERVER_ERROR;
+        } else if (query == null || !query.contains("q=")) {
+            status = 400;
+            body = MISSING_QUERY;
+        } else {
+            status = 200;
+            body = forecastEndpoint ? currentForecast() : currentWeather();
+        }
+
+        long delay = latencyMs + (latencyJitterMs > 0
+                ? ThreadLocalRandom.current().nextLong(-latencyJitterMs, latencyJitterMs + 1) : 0);
+        if (delay <= 0) {
+            respond(exchange, status, body);
+        } else {
+            responseScheduler.schedule(() -> respond(exchange, status, body), delay, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void respond(HttpExchange exchange, int status, byte[] body) {
+        try (exchange) {
+            exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+            exchange.sendResponseHeaders(status, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        } catch (IOException e) {
+            // Client went away before the delayed response was sent
+        }
+    }
+
+    // Forecast slots are shifted so the first one is the current 3-hour slot (UTC)
+    private byte[] currentForecast() {
+        long slot = Math.floorDiv(Instant.now().getEpochSecond(), SLOT_SECONDS) * SLOT_SECONDS;
+        Rendered rendered = forecast;
+        if (rendered == null || rendered.anchor != slot) {
+            rendered = new Rendered(slot, renderForecast(slot));
+            forecast = rendered;
+        }
+        return rendered.body;
+    }
+
+    private byte[] currentWeather() {
+        long minute = Math.floorDiv(Instant.now().getEpochSecond(), 60) * 60;
+        Rendered rendered = weather;
+        if (rendered == null || rendered.anchor != minute) {
+            ObjectNode copy = recordedWeather.deepCopy();
+            copy.put("dt", minute);
+            rendered = new Rendered(minute, write(copy));
+            weather = rendered;
+        }
+        return rendered.body;
+    }
+
+    private byte[] renderForecast(long firstSlot) {
+        ObjectNode copy = recordedForecast.deepCopy();
+        JsonNode list = copy.path("list");
+        if (list.isArray() && list.size() > 0) {
+            long shift = firstSlot - list.get(0).path("dt").asLong();
+            for (JsonNode entry : list) {
+                long dt = entry.path("dt").asLong() + shift;
+                ((ObjectNode) entry).put("dt", dt);
+                ((ObjectNode) entry).put("dt_txt",
+                        LocalDateTime.ofEpochSecond(dt, 0, ZoneOffset.UTC).format(DT_TXT));
+            }
+        }
+        return write(copy);
+    }
+
+    private byte[] write(JsonNode node) {
+        try {
+            return objectMapper.writeValueAsBytes(node);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private JsonNode readPayload(String resource) throws IOException {
+        try (InputStream in = OpenWeatherMapStubServer.class.getResourceAsStream(resource)) {
+            if (in == null) {
+                throw new IllegalStateException("Recorded payload " + resource + " not found");
+            }
+            return objectMapper.readTree(in);
+        }
+    }
+
+    private static class Rendered {
+        private final long anchor;
+        private final byte[] body;
+
+        private Rendered(long anchor, byte[] body) {
+            this.anchor = anchor;
+            this.body = body;
+        }
+    }
+}
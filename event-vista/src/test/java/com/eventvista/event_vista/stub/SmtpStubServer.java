@@ -0,0 +1,133 @@
+package com.eventvista.event_vista.stub;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Minimal in-process SMTP server for exercising the email sending path offline
+// Accepts every message without authentication or TLS and discards the content,
+// counting connections and messages so callers can check how many transports were used
+// Each command reply can be delayed to imitate a remote relay's round trip
+public class SmtpStubServer implements AutoCloseable {
+    private final ServerSocket serverSocket;
+    private final ExecutorService connectionExecutor;
+    private final long replyDelayMs;
+
+    private final AtomicLong connections = new AtomicLong();
+    private final AtomicLong messages = new AtomicLong();
+
+    // Port 0 picks a free port; see getPort
+    public SmtpStubServer(int port, long replyDelayMs) throws IOException {
+        this.serverSocket = new ServerSocket(port, 128, InetAddress.getLoopbackAddress());
+        this.connectionExecutor = Executors.newCachedThreadPool();
+        this.replyDelayMs = Math.max(0, replyDelayMs);
+    }
+
+    // Reads smtp.stub.port and smtp.stub.reply-delay-ms
+    public static void main(String[] args) throws IOException {
+        SmtpStubServer stub = new SmtpStubServer(
+                Integer.getInteger("smtp.stub.port", 2525),
+                Long.getLong("smtp.stub.reply-delay-ms", 0));
+        stub.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(stub::close));
+        System.out.println("SMTP stub listening on 127.0.0.1:" + stub.getPort()
+                + " (reply delay " + stub.replyDelayMs + "ms)");
+    }
+
+    public SmtpStubServer start() {
+        connectionExecutor.execute(this::acceptLoop);
+        return this;
+    }
+
+    @Override
+    public void close() {
+        try {
+            serverSocket.close();
+        } catch (IOException e) {
+            // Already closed
+        }
+        connectionExecutor.shutdownNow();
+    }
+
+    // Value for spring.mail.port; the host is 127.0.0.1
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    public long getConnectionCount() {
+        return connections.get();
+    }
+
+    public long getMessageCount() {
+        return messages.get();
+    }
+
+    private void acceptLoop() {
+        while (!serverSocket.isClosed()) {
+            try {
+                Socket socket = serverSocket.accept();
+                connections.incrementAndGet();
+                connectionExecutor.execute(() -> handle(socket));
+            } catch (IOException e) {
+                // Server socket closed
+            }
+        }
+    }
+
+    private void handle(Socket socket) {
+        try (socket) {
+            socket.setTcpNoDelay(true);
+            BufferedReader in = new BufferedReader(
+                    new InputStreamReader(socket.getInputStream(), StandardCharsets.US_ASCII));
+            OutputStream out = socket.getOutputStream();
+            reply(out, "220 localhost SMTP stub ready");
+
+            String line;
+            while ((line = in.readLine()) != null) {
+                String command = line.length() >= 4 ? line.substring(0, 4).toUpperCase(Locale.ROOT) : line;
+                switch (command) {
+                    case "EHLO", "HELO" -> reply(out, "250 localhost");
+                    case "MAIL", "RCPT", "RSET", "NOOP" -> reply(out, "250 OK");
+                    case "DATA" -> {
+                        reply(out, "354 End data with <CR><LF>.<CR><LF>");
+                        String data;
+                        while ((data = in.readLine()) != null && !data.equals(".")) {
+                            // Message content is discarded
+                        }
+                        messages.incrementAndGet();
+                        reply(out, "250 OK queued");
+                    }
+                    case "QUIT" -> {
+                        reply(out, "221 Bye");
+                        return;
+                    }
+                    default -> reply(out, "502 Command not implemented");
+                }
+            }
+        } catch (IOException e) {
+            // Client went away
+        }
+    }
+
+    private void reply(OutputStream out, String response) throws IOException {
+        if (replyDelayMs > 0) {
+            try {
+                Thread.sleep(replyDelayMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Interrupted", e);
+            }
+        }
+        out.write((response + "\r\n").getBytes(StandardCharsets.US_ASCII));
+        out.flush();
+    }
+}
@@ -0,0 +1,61 @@
+package com.eventvista.event_vista.utilities;
+
+import com.eventvista.event_vista.model.User;
+import com.eventvista.event_vista.security.CustomUserPrincipal;
+import com.eventvista.event_vista.service.UserService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+// The id and reference accessors never query; the loading variant reads the row
+class AuthUtilTest {
+    private final UserService userService = mock(UserService.class);
+    private final AuthUtil authUtil = new AuthUtil(userService);
+
+    @BeforeEach
+    void authenticate() {
+        CustomUserPrincipal principal = new CustomUserPrincipal(7, "ada@example.com", "Ada");
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, null, List.of()));
+    }
+
+    @AfterEach
+    void clear() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void userIdComesFromThePrincipal() {
+        assertEquals(7, authUtil.getUserIdFromAuthentication());
+        verifyNoInteractions(userService);
+    }
+
+    @Test
+    void userFromAuthenticationIsAReference() {
+        User reference = new User();
+        when(userService.getReferenceById(7)).thenReturn(reference);
+
+        assertSame(reference, authUtil.getUserFromAuthentication());
+    }
+
+    @Test
+    void loadedUserReadsTheRow() {
+        User user = new User();
+        when(userService.findById(7)).thenReturn(Optional.of(user));
+
+        assertSame(user, authUtil.getLoadedUserFromAuthentication());
+        verify(userService).findById(7);
+    }
+}